@@ -1,14 +1,21 @@
 package com.onified.ai.authentication_service.auth.client;
 
+import com.onified.ai.authentication_service.dto.KeycloakAccountLinkRequest;
+import com.onified.ai.authentication_service.dto.PasswordVerificationRequest;
 import com.onified.ai.authentication_service.dto.UserAuthDetailsResponse;
 import com.onified.ai.authentication_service.dto.UserCreateRequest;
 import com.onified.ai.authentication_service.dto.UserResponse;
 import com.onified.ai.authentication_service.model.ApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.UUID;
 
 @FeignClient(name = "user-management-service", url = "${feign.client.config.user-management-service.url}")
 public interface UserManagementFeignClient {
@@ -24,6 +31,26 @@ public interface UserManagementFeignClient {
     @GetMapping("/api/users/auth-details/{username}")
     ApiResponse<UserAuthDetailsResponse> getUserAuthDetailsByUsername(@PathVariable("username") String username);
 
+    /**
+     * Verifies a password against the hash stored in UMS. UMS hashes on its own bounded pool and
+     * upgrades outdated hashes on a successful match. The body is true when the password matches.
+     */
+    @PostMapping("/api/users/auth-details/{username}/verify")
+    ApiResponse<Boolean> verifyPassword(@PathVariable("username") String username, @RequestBody PasswordVerificationRequest request);
+
     @PostMapping("/api/users")
     ApiResponse<UserResponse> createUser(@RequestBody UserCreateRequest request);
+
+    /**
+     * Deletes a UMS user. With {@code deleteKeycloakAccount} false UMS does not queue the deletion of the Keycloak
+     * account, for callers that deal with Keycloak themselves.
+     */
+    @DeleteMapping("/api/users/{id}")
+    ApiResponse<Void> deleteUser(@PathVariable("id") UUID id, @RequestParam("deleteKeycloakAccount") boolean deleteKeycloakAccount);
+
+    /**
+     * Records the Keycloak account created for a UMS user, so that deleting the user removes that account by id.
+     */
+    @PutMapping("/api/users/{id}/keycloak-account")
+    ApiResponse<Void> linkKeycloakAccount(@PathVariable("id") UUID id, @RequestBody KeycloakAccountLinkRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.onified.ai.authentication_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Outbound HTTP to Keycloak (token grants, refreshes, JWKS) over a pooled Apache HttpClient 5 with keep-alive,
+ * so logins reuse established TCP/TLS connections instead of opening one per call.
+ * <p>
+ * The RestTemplate is built through Boot's {@link RestTemplateBuilder}, which records an
+ * {@code http.client.requests} timer per request, tagged with the URI template, method and status. Pool usage is
+ * published under {@code httpcomponents.httpclient.pool.*} with {@code httpclient=keycloak}.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager keycloakConnectionManager(KeycloakConfig keycloakConfig, MeterRegistry meterRegistry) {
+        KeycloakConfig.Http http = keycloakConfig.getHttp();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(http.getReadTimeoutMs()))
+                        // Detect connections Keycloak closed while they sat idle in the pool
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "keycloak").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient keycloakHttpClient(PoolingHttpClientConnectionManager keycloakConnectionManager,
+                                                  KeycloakConfig keycloakConfig) {
+        KeycloakConfig.Http http = keycloakConfig.getHttp();
+        return HttpClients.custom()
+                .setConnectionManager(keycloakConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(http.getConnectionRequestTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(http.getReadTimeoutMs()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(http.getIdleEvictSeconds()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient keycloakHttpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(keycloakHttpClient))
+                .build();
+    }
+}
@@ -17,6 +17,8 @@ public class KeycloakConfig {
     private String clientId;
     private String clientSecret;
     private Admin admin = new Admin();
+    private Jwt jwt = new Jwt();
+    private Http http = new Http();
 
     @Data
     public static class Admin {
@@ -25,6 +27,31 @@ public class KeycloakConfig {
         private String realm;
     }
 
+    // Local verification of access tokens issued by the realm
+    @Data
+    public static class Jwt {
+        private String issuer; // defaults to <auth-server-url>/realms/<realm>
+        private long jwksTtlSeconds = 600;
+        private long jwksMinRefreshSeconds = 30; // rate limit for refetches triggered by unknown key ids
+        private int claimsCacheSize = 10000;
+        private long leewaySeconds = 30;
+    }
+
+    // Connection pool for token, refresh and JWKS calls
+    @Data
+    public static class Http {
+        private int maxConnections = 100;
+        private int maxConnectionsPerRoute = 50;
+        private long connectTimeoutMs = 2000;
+        private long readTimeoutMs = 5000;
+        private long connectionRequestTimeoutMs = 1000; // wait for a free pooled connection
+        private long idleEvictSeconds = 30;
+    }
+
+    public String getIssuerUri() {
+        return jwt.getIssuer() != null && !jwt.getIssuer().isBlank() ? jwt.getIssuer() : authServerUrl + "/realms/" + realm;
+    }
+
     @Bean
     public Keycloak keycloak() {
         return KeycloakBuilder.builder()
@@ -9,6 +9,15 @@ public final class ErrorConstants {
     public static final String USER_NOT_FOUND_USERNAME = "User with username '%s' not found.";
     public static final String INVALID_CREDENTIALS = "Invalid username or password.";
     public static final String UMS_COMMUNICATION_ERROR = "Failed to communicate with User Management Service: ";
+    public static final String LOGIN_RATE_LIMITED = "Too many login attempts. Retry in %d seconds.";
+    public static final String LOGIN_OVERLOADED = "Login is temporarily overloaded. Please retry shortly.";
+    public static final String ROLES_NOT_FOUND = "Roles not found in Keycloak: %s";
+    public static final String KEYCLOAK_USER_REJECTED = "Keycloak rejected user '%s': %s";
+    public static final String KEYCLOAK_USER_CONFLICT = "Username or email of '%s' is already taken by another Keycloak account";
+    public static final String REGISTRATION_NOT_FOUND = "Registration '%s' not found.";
+    public static final String REGISTRATION_FAILED = "User creation failed in user-management-service";
+    public static final String REGISTRATION_CREDENTIALS_LOST = "Registration credentials were lost before the user could be provisioned in Keycloak";
+    public static final String REGISTRATION_USER_DELETED = "The user was deleted from User Management before Keycloak provisioning completed";
 
     public static final String VALIDATION_FAILED = "Validation failed: ";
     public static final String UNEXPECTED_ERROR_OCCURRED = "An unexpected error occurred: ";
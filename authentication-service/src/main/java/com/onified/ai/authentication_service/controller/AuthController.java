@@ -3,15 +3,27 @@ package com.onified.ai.authentication_service.controller;
 import com.onified.ai.authentication_service.constants.MessageConstants;
 import com.onified.ai.authentication_service.dto.LoginRequest;
 import com.onified.ai.authentication_service.dto.LoginResponse;
+import com.onified.ai.authentication_service.dto.RegistrationResponse;
+import com.onified.ai.authentication_service.dto.RegistrationStatusResponse;
 import com.onified.ai.authentication_service.dto.UserCreateRequest;
-import com.onified.ai.authentication_service.dto.UserResponse;
 import com.onified.ai.authentication_service.model.ApiResponse;
+import com.onified.ai.authentication_service.security.TokenRevocationRegistry;
+import com.onified.ai.authentication_service.security.TokenVerifier;
+import com.onified.ai.authentication_service.exception.TooManyRequestsException;
 import com.onified.ai.authentication_service.service.KeycloakAuthService;
+import com.onified.ai.authentication_service.service.LoginThrottle;
 import com.onified.ai.authentication_service.service.RegistrationService;
 import com.onified.ai.authentication_service.service.KeycloakUserService;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.onified.ai.authentication_service.model.CustomErrorResponse;
@@ -22,19 +34,34 @@ import com.onified.ai.authentication_service.dto.UserAuthDetailsResponse;
 import com.onified.ai.authentication_service.exception.UserNotFoundException;
 import com.onified.ai.authentication_service.constants.ErrorConstants;
 
+import java.net.URI;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final KeycloakAuthService keycloakAuthService;
     private final RegistrationService registrationService;
     private final UserManagementFeignClient userManagementFeignClient;
     private final KeycloakUserService keycloakUserService;
+    private final LoginThrottle loginThrottle;
+    private final TokenVerifier tokenVerifier;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Value("${auth.login.throttle.trust-forwarded-for:true}")
+    private boolean trustForwardedFor;
+
+    @Value("${auth.login.throttle.trusted-proxy-count:2}")
+    private int trustedProxyCount;
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<Object>> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse<Object>> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
         try {
+            loginThrottle.acquire(loginRequest.getUsername(), clientIp(httpRequest));
             LoginResponse loginResponse = keycloakAuthService.authenticateUser(loginRequest);
             ApiResponse<Object> response = new ApiResponse<>(
                     HttpStatus.OK.value(),
@@ -42,6 +69,17 @@ public class AuthController {
                     loginResponse
             );
             return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (TooManyRequestsException e) {
+            // Fast rejection: neither Keycloak nor UMS was called
+            CustomErrorResponse errorResponse = new CustomErrorResponse("TOO_MANY_REQUESTS", e.getMessage());
+            ApiResponse<Object> response = new ApiResponse<>(
+                    HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "ERROR",
+                    errorResponse
+            );
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(response);
         } catch (Exception e) {
             CustomErrorResponse errorResponse = new CustomErrorResponse("AUTHENTICATION_FAILED", e.getMessage());
             ApiResponse<Object> response = new ApiResponse<>(
@@ -56,13 +94,15 @@ public class AuthController {
     @PostMapping("/create-platform-admin")
     public ResponseEntity<ApiResponse<Object>> createPlatformAdmin(@Valid @RequestBody UserCreateRequest request) {
         try {
-            UserResponse userResponse = registrationService.registerUserWithRole(request, "PLATFORM.Management.Admin");
+            RegistrationResponse registration = registrationService.registerUserWithRole(request, "PLATFORM.Management.Admin");
             ApiResponse<Object> response = new ApiResponse<>(
                     HttpStatus.CREATED.value(),
                     MessageConstants.STATUS_SUCCESS,
-                    userResponse
+                    registration
             );
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .location(URI.create("/api/auth/registrations/" + registration.getRegistrationId()))
+                    .body(response);
         } catch (Exception e) {
             CustomErrorResponse errorResponse = new CustomErrorResponse("REGISTRATION_FAILED", e.getMessage());
             ApiResponse<Object> response = new ApiResponse<>(
@@ -77,13 +117,15 @@ public class AuthController {
     @PostMapping("/create-tenant-admin")
     public ResponseEntity<ApiResponse<Object>> createTenantAdmin(@Valid @RequestBody UserCreateRequest request) {
         try {
-            UserResponse userResponse = registrationService.registerUserWithRole(request, "PLATFORM.Management.TenantAdmin");
+            RegistrationResponse registration = registrationService.registerUserWithRole(request, "PLATFORM.Management.TenantAdmin");
             ApiResponse<Object> response = new ApiResponse<>(
                     HttpStatus.CREATED.value(),
                     MessageConstants.STATUS_SUCCESS,
-                    userResponse
+                    registration
             );
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .location(URI.create("/api/auth/registrations/" + registration.getRegistrationId()))
+                    .body(response);
         } catch (Exception e) {
             CustomErrorResponse errorResponse = new CustomErrorResponse("REGISTRATION_FAILED", e.getMessage());
             ApiResponse<Object> response = new ApiResponse<>(
@@ -98,13 +140,15 @@ public class AuthController {
     @PostMapping("/create-platform-user")
     public ResponseEntity<ApiResponse<Object>> createPlatformUser(@Valid @RequestBody UserCreateRequest request) {
         try {
-            UserResponse userResponse = registrationService.registerUserWithRole(request, "PLATFORM.Management.User");
+            RegistrationResponse registration = registrationService.registerUserWithRole(request, "PLATFORM.Management.User");
             ApiResponse<Object> response = new ApiResponse<>(
                     HttpStatus.CREATED.value(),
                     MessageConstants.STATUS_SUCCESS,
-                    userResponse
+                    registration
             );
-            return new ResponseEntity<>(response, HttpStatus.CREATED);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .location(URI.create("/api/auth/registrations/" + registration.getRegistrationId()))
+                    .body(response);
         } catch (Exception e) {
             CustomErrorResponse errorResponse = new CustomErrorResponse("REGISTRATION_FAILED", e.getMessage());
             ApiResponse<Object> response = new ApiResponse<>(
@@ -116,6 +160,20 @@ public class AuthController {
         }
     }
 
+    /**
+     * Progress of a registration started by one of the create-* endpoints.
+     */
+    @GetMapping("/registrations/{registrationId}")
+    public ResponseEntity<ApiResponse<RegistrationStatusResponse>> getRegistrationStatus(@PathVariable UUID registrationId) {
+        RegistrationStatusResponse status = registrationService.getRegistrationStatus(registrationId);
+        ApiResponse<RegistrationStatusResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                status
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PostMapping("/refresh")
     public ResponseEntity<ApiResponse<Object>> refreshToken(@RequestParam String refreshToken) {
         try {
@@ -217,8 +275,30 @@ public class AuthController {
         }
     }
 
+    /**
+     * Revokes the bearer token and its Keycloak session and ends that session in Keycloak, so it cannot be
+     * refreshed any more; a given refresh token is logged out as well. Always succeeds: a missing, invalid or
+     * already revoked token has nothing left to revoke.
+     */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<String>> logout() {
+    public ResponseEntity<ApiResponse<String>> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                      @RequestParam(required = false) String refreshToken) {
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            try {
+                DecodedJWT accessToken = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()));
+                tokenRevocationRegistry.revoke(accessToken);
+                // The sid entry only outlives the session's access tokens; ending the session stops refreshes
+                String sessionId = accessToken.getClaim("sid").asString();
+                if (sessionId != null) {
+                    keycloakAuthService.endSession(sessionId);
+                }
+            } catch (JWTVerificationException e) {
+                // Nothing to revoke
+            }
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            keycloakAuthService.logout(refreshToken);
+        }
         ApiResponse<String> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 MessageConstants.STATUS_SUCCESS,
@@ -227,6 +307,38 @@ public class AuthController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * The revocation Bloom filter as a binary blob (format: {@link TokenRevocationRegistry#serializedFilter()}),
+     * for services that check revocation locally. Supports If-None-Match so unchanged filters are not re-sent; the
+     * ETag is the blob's content digest, so it stays valid across instances and restarts.
+     */
+    @GetMapping(value = "/revocations/filter", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getRevocationFilter(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TokenRevocationRegistry.SerializedFilter filter = tokenRevocationRegistry.serializedFilter();
+        String etag = "\"" + filter.digest() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(filter.bytes());
+    }
+
+    /**
+     * Exact revocation check, for confirming a positive from the pulled filter.
+     */
+    @GetMapping("/revocations/check")
+    public ResponseEntity<ApiResponse<Boolean>> isRevoked(@RequestParam(required = false) String jti,
+                                                          @RequestParam(required = false) String sid) {
+        ApiResponse<Boolean> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                tokenRevocationRegistry.isRevoked(jti, sid)
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/profile/{username}")
     public ResponseEntity<ApiResponse<UserAuthDetailsResponse>> getUserProfile(@PathVariable String username) {
         try {
@@ -244,4 +356,15 @@ public class AuthController {
             return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
         }
     }
+
+    // Each trusted proxy appends the address it saw, so the client is the entry trustedProxyCount from the end;
+    // anything before it was supplied by the client and cannot be trusted
+    private String clientIp(HttpServletRequest request) {
+        String forwardedFor = trustForwardedFor ? request.getHeader("X-Forwarded-For") : null;
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            return hops[Math.max(0, hops.length - Math.max(1, trustedProxyCount))].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
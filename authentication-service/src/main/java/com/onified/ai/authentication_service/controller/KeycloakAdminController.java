@@ -0,0 +1,77 @@
+package com.onified.ai.authentication_service.controller;
+
+import com.onified.ai.authentication_service.constants.MessageConstants;
+import com.onified.ai.authentication_service.dto.BatchUserDeletionRequest;
+import com.onified.ai.authentication_service.dto.BatchUserDeletionResponse;
+import com.onified.ai.authentication_service.dto.BatchUserProvisioningRequest;
+import com.onified.ai.authentication_service.dto.BatchUserProvisioningResponse;
+import com.onified.ai.authentication_service.model.ApiResponse;
+import com.onified.ai.authentication_service.service.KeycloakRoleCache;
+import com.onified.ai.authentication_service.service.KeycloakUserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Keycloak account administration for other services and operators. Not routed by the gateway; every call needs
+ * the {@code auth.internal.admin-role} realm role, from a bearer token or from signed internal claims headers
+ * (see {@link com.onified.ai.authentication_service.security.SecurityConfig}).
+ */
+@RestController
+@RequestMapping("/api/internal/keycloak")
+@RequiredArgsConstructor
+public class KeycloakAdminController {
+
+    private final KeycloakUserService keycloakUserService;
+    private final KeycloakRoleCache keycloakRoleCache;
+
+    /**
+     * Delete several users from Keycloak in one call.
+     * Used by the User Management Service outbox dispatcher, which sends Keycloak user ids where it has them and
+     * usernames otherwise; entries listed as failed should be retried.
+     */
+    @PostMapping("/users/delete")
+    public ResponseEntity<ApiResponse<BatchUserDeletionResponse>> deleteUsersFromKeycloak(@Valid @RequestBody BatchUserDeletionRequest request) {
+        BatchUserDeletionResponse result = keycloakUserService.deleteUsersFromKeycloak(request.getUsernames(), request.getUserIds());
+        ApiResponse<BatchUserDeletionResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                result
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Create several users with their realm roles in Keycloak, in as few admin calls as possible.
+     * Usernames listed as failed should be retried; existing users are left untouched.
+     */
+    @PostMapping("/users/provision")
+    public ResponseEntity<ApiResponse<BatchUserProvisioningResponse>> provisionUsersInKeycloak(@Valid @RequestBody BatchUserProvisioningRequest request) {
+        BatchUserProvisioningResponse result = keycloakUserService.provisionUsers(request.getUsers());
+        ApiResponse<BatchUserProvisioningResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                result
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Drop the cached Keycloak realm roles, e.g. after roles were changed in the Keycloak console.
+     */
+    @PostMapping("/roles/cache/invalidate")
+    public ResponseEntity<ApiResponse<String>> invalidateRoleCache() {
+        keycloakRoleCache.invalidate();
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                "Keycloak role cache invalidated"
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
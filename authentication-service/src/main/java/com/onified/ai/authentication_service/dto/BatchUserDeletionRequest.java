@@ -0,0 +1,19 @@
+package com.onified.ai.authentication_service.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserDeletionRequest {
+    @Size(max = 500)
+    private List<String> usernames; // resolved by exact username
+
+    @Size(max = 500)
+    private List<String> userIds; // Keycloak user ids
+}
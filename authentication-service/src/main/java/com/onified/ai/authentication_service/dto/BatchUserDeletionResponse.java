@@ -0,0 +1,21 @@
+package com.onified.ai.authentication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user outcome of a batch Keycloak deletion, listed under the username or user id that was sent. Only
+ * {@code failed} entries are worth retrying.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserDeletionResponse {
+    private List<String> deleted = new ArrayList<>();
+    private List<String> notFound = new ArrayList<>();
+    private List<String> failed = new ArrayList<>();
+}
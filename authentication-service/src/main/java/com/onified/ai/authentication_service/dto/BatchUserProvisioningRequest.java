@@ -0,0 +1,18 @@
+package com.onified.ai.authentication_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserProvisioningRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<UserCreateRequest> users;
+}
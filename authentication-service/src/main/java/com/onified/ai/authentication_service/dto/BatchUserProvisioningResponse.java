@@ -0,0 +1,23 @@
+package com.onified.ai.authentication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-username outcome of a batch Keycloak provisioning. {@code created} maps usernames to their new Keycloak ids;
+ * {@code existing} users were left untouched. Only {@code failed} entries are worth retrying.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserProvisioningResponse {
+    private Map<String, String> created = new LinkedHashMap<>();
+    private List<String> existing = new ArrayList<>();
+    private List<String> failed = new ArrayList<>();
+}
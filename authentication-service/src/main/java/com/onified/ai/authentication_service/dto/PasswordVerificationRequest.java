@@ -0,0 +1,12 @@
+package com.onified.ai.authentication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordVerificationRequest {
+    private String password;
+}
@@ -0,0 +1,20 @@
+package com.onified.ai.authentication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Returned once the user exists in UMS. Keycloak provisioning continues in the background; poll
+ * {@code GET /api/auth/registrations/{registrationId}} until the status is COMPLETED.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationResponse {
+    private UUID registrationId;
+    private String status;
+    private UserResponse user;
+}
@@ -0,0 +1,23 @@
+package com.onified.ai.authentication_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationStatusResponse {
+    private UUID registrationId;
+    private UUID userId;
+    private String username;
+    private String status; // PROVISIONING, COMPLETED, COMPENSATING, COMPENSATED or FAILED
+    private int attempts;
+    private String failureReason;
+    private String lastError;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -12,6 +12,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class UserAuthDetailsResponse {
     private UUID id;
+    private String tenantId;
     private String username;
     private String passwordHash;
     private List<String> roles; // Or Set<String> if that's how it's stored in UMS entity
@@ -0,0 +1,134 @@
+package com.onified.ai.authentication_service.entity;
+
+import com.onified.ai.authentication_service.dto.UserCreateRequest;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Progress of one registration: the user already exists in UMS, and is provisioned in Keycloak by
+ * {@code RegistrationSagaWorker}. If provisioning cannot succeed, the UMS user is deleted again (compensation).
+ * <p>
+ * The password is never stored here; the accepting instance ({@code ownerId}) holds it in memory until Keycloak has it.
+ */
+@Entity
+@Table(name = "registration_sagas", indexes = {
+        @Index(name = "idx_registration_sagas_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+public class RegistrationSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId; // UMS user id
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "roles", length = 1000)
+    private String roles; // comma separated realm role names
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SagaStatus status;
+
+    @Column(name = "owner_id", nullable = false, length = 36)
+    private String ownerId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "keycloak_user_id")
+    private String keycloakUserId;
+
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason; // why compensation started
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public RegistrationSaga(UUID userId, UserCreateRequest request, String ownerId) {
+        this.userId = userId;
+        this.username = request.getUsername();
+        this.email = request.getEmail();
+        this.firstName = request.getFirstName();
+        this.lastName = request.getLastName();
+        this.roles = request.getRoles() == null ? null : String.join(",", request.getRoles());
+        this.ownerId = ownerId;
+    }
+
+    public enum SagaStatus {
+        PROVISIONING, // waiting for Keycloak
+        COMPLETED,
+        COMPENSATING, // deleting the UMS user
+        COMPENSATED,
+        FAILED // compensation gave up; needs manual cleanup
+    }
+
+    public UserCreateRequest toUserCreateRequest(String password) {
+        Set<String> roleNames = roles == null || roles.isEmpty()
+                ? Set.of()
+                : new LinkedHashSet<>(Arrays.asList(roles.split(",")));
+        return new UserCreateRequest(username, password, email, firstName, lastName, roleNames);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+        if (status == null) {
+            status = SagaStatus.PROVISIONING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RegistrationSaga that = (RegistrationSaga) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,56 @@
+package com.onified.ai.authentication_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * A revoked access token ({@code jti:<id>}) or session ({@code sid:<id>}), kept until no token it covers can still
+ * be valid. Shared by all Authentication Service instances through the database.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_key", length = 300, updatable = false, nullable = false)
+    private String tokenKey;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    public RevokedToken(String tokenKey, Instant expiresAt) {
+        this.tokenKey = tokenKey;
+        this.expiresAt = expiresAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        revokedAt = Instant.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RevokedToken that = (RevokedToken) o;
+        return Objects.equals(tokenKey, that.tokenKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tokenKey);
+    }
+}
@@ -2,6 +2,7 @@ package com.onified.ai.authentication_service.exception;
 
 import com.onified.ai.authentication_service.constants.ErrorConstants;
 import com.onified.ai.authentication_service.model.CustomErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -24,6 +25,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    @ExceptionHandler(RegistrationNotFoundException.class)
+    public ResponseEntity<CustomErrorResponse> handleRegistrationNotFoundException(RegistrationNotFoundException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                String.valueOf(status.value()),
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<CustomErrorResponse> handleBadCredentialsException(BadCredentialsException ex, WebRequest request) {
         HttpStatus status = HttpStatus.UNAUTHORIZED; // 401 Unauthorized
@@ -34,6 +45,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<CustomErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                String.valueOf(status.value()),
+                ex.getMessage()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
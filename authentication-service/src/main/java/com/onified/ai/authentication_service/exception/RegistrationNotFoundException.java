@@ -0,0 +1,7 @@
+package com.onified.ai.authentication_service.exception;
+
+public class RegistrationNotFoundException extends RuntimeException {
+    public RegistrationNotFoundException(String message) {
+        super(message);
+    }
+}
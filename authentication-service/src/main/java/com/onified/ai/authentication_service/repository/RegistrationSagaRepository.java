@@ -0,0 +1,40 @@
+package com.onified.ai.authentication_service.repository;
+
+import com.onified.ai.authentication_service.entity.RegistrationSaga;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RegistrationSagaRepository extends JpaRepository<RegistrationSaga, UUID> {
+
+    // Locked FOR UPDATE SKIP LOCKED (timeout -2): empty if another worker is advancing the saga right now
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM RegistrationSaga s WHERE s.id = :id")
+    Optional<RegistrationSaga> lockById(@Param("id") UUID id);
+
+    // Provisioning steps need the in-memory password, so only the owner picks them up; compensation can run anywhere
+    @Query("SELECT s.id FROM RegistrationSaga s WHERE s.nextAttemptAt <= :now AND (" +
+           "(s.status = com.onified.ai.authentication_service.entity.RegistrationSaga.SagaStatus.PROVISIONING AND s.ownerId = :ownerId) " +
+           "OR s.status = com.onified.ai.authentication_service.entity.RegistrationSaga.SagaStatus.COMPENSATING) " +
+           "ORDER BY s.nextAttemptAt")
+    List<UUID> findDueIds(@Param("ownerId") String ownerId, @Param("now") Instant now, Pageable pageable);
+
+    // Provisioning sagas of other instances that have not moved for a while, presumably because their owner is gone
+    @Query("SELECT s.id FROM RegistrationSaga s " +
+           "WHERE s.status = com.onified.ai.authentication_service.entity.RegistrationSaga.SagaStatus.PROVISIONING " +
+           "AND s.ownerId <> :ownerId AND s.updatedAt < :cutoff ORDER BY s.updatedAt")
+    List<UUID> findOrphanedIds(@Param("ownerId") String ownerId, @Param("cutoff") Instant cutoff, Pageable pageable);
+}
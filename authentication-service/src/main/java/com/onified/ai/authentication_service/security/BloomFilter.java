@@ -0,0 +1,87 @@
+package com.onified.ai.authentication_service.security;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Lookups and inserts are lock-free; a lookup reads {@code numHashes} words.
+ * <p>
+ * Bit positions: {@code h} is the 64-bit FNV-1a hash of the key's UTF-8 bytes, {@code h1 = (int) h},
+ * {@code h2 = (int) (h >>> 32)}, and probe {@code i} sets bit {@code floorMod(h1 + i * h2, numBits)}, where bit
+ * {@code b} is bit {@code b % 64} of word {@code b / 64}. Pullers of the serialized form must probe the same way.
+ */
+public final class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+    private final int numHashes;
+    private final long numBits;
+
+    private BloomFilter(int numWords, int numHashes) {
+        this.words = new AtomicLongArray(numWords);
+        this.numHashes = numHashes;
+        this.numBits = (long) numWords * Long.SIZE;
+    }
+
+    // Sized for expectedInsertions keys at the given false-positive rate
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int numWords = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        int numHashes = (int) Math.max(1, Math.round((double) numWords * Long.SIZE / n * Math.log(2)));
+        return new BloomFilter(numWords, numHashes);
+    }
+
+    public void put(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                word = words.get(index);
+            }
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    // numWords (int), then the words (long each), big-endian
+    public void writeWords(DataOutputStream out) throws IOException {
+        out.writeInt(words.length());
+        for (int i = 0; i < words.length(); i++) {
+            out.writeLong(words.get(i));
+        }
+    }
+
+    static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
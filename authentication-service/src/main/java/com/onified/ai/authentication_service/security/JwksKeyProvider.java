@@ -0,0 +1,111 @@
+package com.onified.ai.authentication_service.security;
+
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.onified.ai.authentication_service.config.KeycloakConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public signing keys of the Keycloak realm, fetched from its JWKS endpoint and kept in memory.
+ * <p>
+ * Keys are refetched when the cached set is older than {@code keycloak.jwt.jwks-ttl-seconds}, or when a token
+ * names a key id that is not cached (Keycloak rotated its keys). Refetches for unknown key ids are rate limited by
+ * {@code keycloak.jwt.jwks-min-refresh-seconds}, so tokens with made-up key ids cannot flood Keycloak. If a refetch
+ * fails, the previous keys stay in use.
+ */
+@Component
+@Slf4j
+public class JwksKeyProvider implements RSAKeyProvider {
+
+    private final RestTemplate restTemplate;
+    private final String jwksUrl;
+    private final long ttlMillis;
+    private final long minRefreshMillis;
+
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+    private volatile long fetchedAt;
+    private volatile long lastAttemptAt;
+
+    public JwksKeyProvider(RestTemplate restTemplate, KeycloakConfig keycloakConfig) {
+        this.restTemplate = restTemplate;
+        this.jwksUrl = keycloakConfig.getIssuerUri() + "/protocol/openid-connect/certs";
+        this.ttlMillis = keycloakConfig.getJwt().getJwksTtlSeconds() * 1000;
+        this.minRefreshMillis = keycloakConfig.getJwt().getJwksMinRefreshSeconds() * 1000;
+    }
+
+    @Override
+    public RSAPublicKey getPublicKeyById(String keyId) {
+        long now = System.currentTimeMillis();
+        RSAPublicKey key = keyId != null ? keys.get(keyId) : null;
+        if (key != null && now - fetchedAt < ttlMillis) {
+            return key;
+        }
+        if (now - lastAttemptAt >= minRefreshMillis) {
+            refresh(now);
+        }
+        RSAPublicKey refreshed = keyId != null ? keys.get(keyId) : null;
+        return refreshed != null ? refreshed : key;
+    }
+
+    @Override
+    public RSAPrivateKey getPrivateKey() {
+        return null; // verification only
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return null;
+    }
+
+    private synchronized void refresh(long now) {
+        // Another thread may have refreshed while this one waited for the lock
+        if (now - lastAttemptAt < minRefreshMillis) {
+            return;
+        }
+        lastAttemptAt = now;
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> jwks = restTemplate.getForObject(jwksUrl, Map.class);
+            Map<String, RSAPublicKey> parsed = parse(jwks);
+            if (!parsed.isEmpty()) {
+                keys = Map.copyOf(parsed);
+                fetchedAt = now;
+                log.debug("Loaded {} signing keys from {}", parsed.size(), jwksUrl);
+            }
+        } catch (Exception e) {
+            log.error("Failed to fetch JWKS from {}: {}", jwksUrl, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, RSAPublicKey> parse(Map<String, Object> jwks) throws Exception {
+        Map<String, RSAPublicKey> parsed = new HashMap<>();
+        if (jwks == null || !(jwks.get("keys") instanceof List<?> entries)) {
+            return parsed;
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        for (Object entry : entries) {
+            Map<String, Object> jwk = (Map<String, Object>) entry;
+            Object use = jwk.get("use");
+            if (!"RSA".equals(jwk.get("kty")) || (use != null && !"sig".equals(use)) || jwk.get("kid") == null) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n")));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")));
+            parsed.put((String) jwk.get("kid"),
+                    (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,64 @@
+package com.onified.ai.authentication_service.security;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Authenticates requests carrying a Keycloak bearer token, verified locally by {@link TokenVerifier}, or else
+ * claims headers signed with the internal secret ({@link InternalClaimsVerifier}), whose roles become authorities.
+ * Requests with neither continue unauthenticated and are judged by the authorization rules.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final InternalClaimsVerifier internalClaimsVerifier;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                DecodedJWT jwt = tokenVerifier.verify(header.substring(BEARER_PREFIX.length()));
+                String username = jwt.getClaim("preferred_username").asString();
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        username != null ? username : jwt.getSubject(),
+                        null,
+                        TokenVerifier.realmRoles(jwt).stream().map(SimpleGrantedAuthority::new).toList());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } catch (JWTVerificationException e) {
+                log.debug("Rejected bearer token: {}", e.getMessage());
+            }
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() == null && internalClaimsVerifier.isSigned(request)) {
+            String roles = request.getHeader(InternalClaimsVerifier.ROLES_HEADER);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    request.getHeader(InternalClaimsVerifier.SUBJECT_HEADER),
+                    null,
+                    Arrays.stream(roles == null ? new String[0] : roles.split(","))
+                            .map(String::trim).filter(role -> !role.isEmpty()).map(SimpleGrantedAuthority::new).toList());
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
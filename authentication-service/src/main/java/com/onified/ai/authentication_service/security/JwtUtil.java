@@ -1,9 +1,11 @@
 package com.onified.ai.authentication_service.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -23,13 +25,13 @@ public class JwtUtil {
     private long expirationMs; // in milliseconds
 
     private Algorithm algorithm;
+    private JWTVerifier verifier; // thread-safe, shared by all validations
 
-    // Initialize algorithm once secret is injected
-    private Algorithm getAlgorithm() {
-        if (algorithm == null) {
-            this.algorithm = Algorithm.HMAC256(secret);
-        }
-        return algorithm;
+    // Initialize algorithm and verifier once secret is injected
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
     }
 
     public String generateToken(UUID userId, String username, List<String> roles) {
@@ -42,13 +44,11 @@ public class JwtUtil {
                 .withClaim("roles", roles) // Include user roles
                 .withIssuedAt(Date.from(now))
                 .withExpiresAt(Date.from(expiryDate))
-                .sign(getAlgorithm());
+                .sign(algorithm);
     }
 
     public DecodedJWT validateToken(String token) throws JWTVerificationException {
-        return JWT.require(getAlgorithm())
-                .build()
-                .verify(token);
+        return verifier.verify(token);
     }
 
     public UUID getUserIdFromToken(String token) {
@@ -0,0 +1,26 @@
+package com.onified.ai.authentication_service.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Keys for in-memory token caches, so raw tokens are never held as map keys.
+ */
+public final class TokenHashes {
+
+    private TokenHashes() {
+        // Private constructor to prevent instantiation
+    }
+
+    // URL-safe Base64 of the token's SHA-256 digest
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.onified.ai.authentication_service.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.onified.ai.authentication_service.entity.RevokedToken;
+import com.onified.ai.authentication_service.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revoked access tokens (by {@code jti}) and sessions (by {@code sid}).
+ * <p>
+ * Checks first probe an in-memory {@link BloomFilter}; only its rare positives consult the exact map of revoked
+ * keys, so the common case of a token that was never revoked costs a few memory reads. Every
+ * {@code auth.revocation.window-seconds} (at least the access token lifetime) the filter is rebuilt from the exact
+ * entries that can still matter, which keeps it from filling up. Revocations are stored in {@code revoked_tokens}
+ * and polled from there, so all instances converge within {@code auth.revocation.sync-interval-ms}.
+ * <p>
+ * Other services can pull the filter with {@link #serializedFilter()}; {@link #getVersion()} changes whenever it
+ * does, but only within this instance and run, so pulls are validated against the blob's content digest instead. Positives are counted under {@code auth.revocation.checks}.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    public static final int BLOB_MAGIC = 0x4F4E4246; // "ONBF"
+    public static final int BLOB_FORMAT = 1;
+
+    private static final String TOKEN_PREFIX = "jti:";
+    private static final String SESSION_PREFIX = "sid:";
+    private static final long SYNC_OVERLAP_MILLIS = 60_000; // tolerates clock skew and late commits between instances
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long windowMillis;
+    private final int expectedPerWindow;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // key -> expiry, epoch millis
+    private final AtomicLong version = new AtomicLong();
+    private final Counter hits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile long rotatedAt;
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+    private volatile SerializedFilter blob;
+
+    public TokenRevocationRegistry(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry,
+                                   @Value("${auth.revocation.window-seconds:300}") long windowSeconds,
+                                   @Value("${auth.revocation.expected-per-window:100000}") int expectedPerWindow,
+                                   @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.windowMillis = windowSeconds * 1000;
+        this.expectedPerWindow = expectedPerWindow;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedPerWindow, falsePositiveRate);
+        this.rotatedAt = System.currentTimeMillis();
+        this.hits = Counter.builder("auth.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.checks").tag("result", "false_positive").register(meterRegistry);
+        Gauge.builder("auth.revocation.entries", revoked, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::remember);
+        syncedUpTo = now;
+    }
+
+    /**
+     * Revokes the token and, if it names one, its Keycloak session. Session entries last one window, long enough
+     * for every access token issued to the session before the logout to expire.
+     */
+    public void revoke(DecodedJWT jwt) {
+        Instant now = Instant.now();
+        if (jwt.getId() != null && jwt.getExpiresAtAsInstant() != null) {
+            store(TOKEN_PREFIX + jwt.getId(), jwt.getExpiresAtAsInstant(), now);
+        }
+        String sessionId = jwt.getClaim("sid").asString();
+        if (sessionId != null) {
+            store(SESSION_PREFIX + sessionId, now.plusMillis(windowMillis), now);
+        }
+    }
+
+    public boolean isRevoked(DecodedJWT jwt) {
+        return isRevoked(jwt.getId(), jwt.getClaim("sid").asString());
+    }
+
+    public boolean isRevoked(String tokenId, String sessionId) {
+        return (tokenId != null && isRevoked(TOKEN_PREFIX + tokenId))
+                || (sessionId != null && isRevoked(SESSION_PREFIX + sessionId));
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * The filter in its wire format, big-endian: magic {@link #BLOB_MAGIC} (int), format {@link #BLOB_FORMAT} (int),
+     * version (long), next rebuild in epoch millis (long), number of hash probes (int), then the filter words as
+     * written by {@link BloomFilter#writeWords}. A positive is only a hint; confirm it with {@link #isRevoked}.
+     */
+    public SerializedFilter serializedFilter() {
+        SerializedFilter current = blob;
+        long currentVersion = version.get();
+        if (current != null && current.version() == currentVersion) {
+            return current;
+        }
+        BloomFilter snapshot = filter;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BLOB_MAGIC);
+            out.writeInt(BLOB_FORMAT);
+            out.writeLong(currentVersion);
+            out.writeLong(rotatedAt + windowMillis);
+            out.writeInt(snapshot.getNumHashes());
+            snapshot.writeWords(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] serialized = bytes.toByteArray();
+        SerializedFilter created = new SerializedFilter(currentVersion, serialized, digest(serialized));
+        blob = created;
+        return created;
+    }
+
+    // URL-safe Base64 of the SHA-256 digest
+    private static String digest(byte[] bytes) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        try {
+            Instant since = syncedUpTo.minusMillis(SYNC_OVERLAP_MILLIS);
+            revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now).forEach(this::remember);
+            syncedUpTo = now;
+        } catch (Exception e) {
+            log.error("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+        if (now.toEpochMilli() - rotatedAt >= windowMillis) {
+            rotate(now.toEpochMilli());
+            try {
+                revokedTokenRepository.deleteExpired(now);
+            } catch (Exception e) {
+                log.error("Failed to purge expired revoked tokens: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean isRevoked(String key) {
+        if (!filter.mightContain(key)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(key);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    private void store(String key, Instant expiresAt, Instant now) {
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(key, expiresAt));
+        remember(key, expiresAt.toEpochMilli());
+    }
+
+    private void remember(RevokedToken token) {
+        remember(token.getTokenKey(), token.getExpiresAt().toEpochMilli());
+    }
+
+    // Writers serialize with rotate() so an entry cannot land in a filter that is being replaced
+    private synchronized void remember(String key, long expiresAt) {
+        Long previous = revoked.get(key);
+        if (previous != null && previous >= expiresAt) {
+            return;
+        }
+        revoked.put(key, expiresAt);
+        filter.put(key);
+        version.incrementAndGet();
+    }
+
+    private synchronized void rotate(long now) {
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        int expected = Math.max(expectedPerWindow, revoked.size() * 2);
+        BloomFilter rebuilt = BloomFilter.create(expected, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        rotatedAt = now;
+        version.incrementAndGet();
+        log.debug("Rebuilt revocation filter with {} entries", revoked.size());
+    }
+
+    /**
+     * A serialized filter with the digest of its bytes; equal digests mean equal contents on any instance and
+     * across restarts, unlike the version.
+     */
+    public record SerializedFilter(long version, byte[] bytes, String digest) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.onified.ai.authentication_service.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.onified.ai.authentication_service.config.KeycloakConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies Keycloak access tokens locally against the realm's cached signing keys; Keycloak is only contacted to
+ * refresh the key set (see {@link JwksKeyProvider}).
+ * <p>
+ * One {@link JWTVerifier} is built at startup and shared by all threads. Tokens that passed verification are kept
+ * in a bounded LRU cache keyed by a SHA-256 hash of the token until they expire, so a client repeating the same
+ * token skips signature verification. Revocation is checked on every call, cached or not
+ * (see {@link TokenRevocationRegistry}). Results are counted under {@code auth.token.verifications}.
+ */
+@Component
+public class TokenVerifier {
+
+    private static final String METRIC = "auth.token.verifications";
+
+    private final JWTVerifier verifier;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final long leewayMillis;
+    private final Map<String, DecodedJWT> verified;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejections;
+    private final Counter revocations;
+
+    public TokenVerifier(JwksKeyProvider keyProvider, TokenRevocationRegistry revocationRegistry,
+                         KeycloakConfig keycloakConfig, MeterRegistry meterRegistry) {
+        KeycloakConfig.Jwt jwt = keycloakConfig.getJwt();
+        this.verifier = JWT.require(Algorithm.RSA256(keyProvider))
+                .withIssuer(keycloakConfig.getIssuerUri())
+                .acceptLeeway(jwt.getLeewaySeconds())
+                .build();
+        this.revocationRegistry = revocationRegistry;
+        this.leewayMillis = jwt.getLeewaySeconds() * 1000;
+        int maxSize = jwt.getClaimsCacheSize();
+        this.verified = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DecodedJWT> eldest) {
+                return size() > maxSize;
+            }
+        });
+
+        this.hits = Counter.builder(METRIC).tag("result", "cached").register(meterRegistry);
+        this.misses = Counter.builder(METRIC).tag("result", "verified").register(meterRegistry);
+        this.rejections = Counter.builder(METRIC).tag("result", "rejected").register(meterRegistry);
+        this.revocations = Counter.builder(METRIC).tag("result", "revoked").register(meterRegistry);
+        Gauge.builder(METRIC + ".cache.size", verified, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the decoded token if its signature, issuer and expiry are valid and it has not been revoked.
+     *
+     * @throws JWTVerificationException if the token is invalid, expired or revoked
+     */
+    public DecodedJWT verify(String token) throws JWTVerificationException {
+        String key = TokenHashes.sha256(token);
+        DecodedJWT cached = verified.get(key);
+        if (cached != null) {
+            if (isLive(cached)) {
+                hits.increment();
+                return checkNotRevoked(cached);
+            }
+            verified.remove(key);
+        }
+        DecodedJWT decoded;
+        try {
+            decoded = verifier.verify(token);
+        } catch (JWTVerificationException e) {
+            rejections.increment();
+            throw e;
+        }
+        misses.increment();
+        if (decoded.getExpiresAtAsInstant() != null) {
+            verified.put(key, decoded);
+        }
+        return checkNotRevoked(decoded);
+    }
+
+    /**
+     * Realm roles of a verified token ({@code realm_access.roles}), or an empty list.
+     */
+    public static List<String> realmRoles(DecodedJWT jwt) {
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access").asMap();
+        if (realmAccess != null && realmAccess.get("roles") instanceof List<?> roles) {
+            return roles.stream().map(String::valueOf).toList();
+        }
+        return List.of();
+    }
+
+    private DecodedJWT checkNotRevoked(DecodedJWT jwt) {
+        if (revocationRegistry.isRevoked(jwt)) {
+            revocations.increment();
+            throw new JWTVerificationException("The token has been revoked.");
+        }
+        return jwt;
+    }
+
+    private boolean isLive(DecodedJWT jwt) {
+        return jwt.getExpiresAtAsInstant().toEpochMilli() + leewayMillis > System.currentTimeMillis();
+    }
+}
@@ -4,6 +4,7 @@ import com.onified.ai.authentication_service.auth.client.UserManagementFeignClie
 import com.onified.ai.authentication_service.constants.ErrorConstants;
 import com.onified.ai.authentication_service.dto.LoginRequest;
 import com.onified.ai.authentication_service.dto.LoginResponse;
+import com.onified.ai.authentication_service.dto.PasswordVerificationRequest;
 import com.onified.ai.authentication_service.dto.UserAuthDetailsResponse;
 import com.onified.ai.authentication_service.exception.BadCredentialsException;
 import com.onified.ai.authentication_service.exception.UserNotFoundException;
@@ -11,21 +12,17 @@ import com.onified.ai.authentication_service.model.ApiResponse;
 import com.onified.ai.authentication_service.security.JwtUtil;
 import feign.FeignException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final UserManagementFeignClient userManagementFeignClient;
-    private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
 
     public AuthService(UserManagementFeignClient userManagementFeignClient,
-                       PasswordEncoder passwordEncoder,
                        JwtUtil jwtUtil) {
         this.userManagementFeignClient = userManagementFeignClient;
-        this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
     }
 
@@ -50,9 +47,8 @@ public class AuthService {
             throw new RuntimeException(ErrorConstants.UMS_COMMUNICATION_ERROR + ex.getMessage(), ex);
         }
 
-        // 2. Verify password (THIS IS WHERE HASHING IS CRUCIAL)
-        // passwordEncoder.matches(rawPassword, hashedPasswordFromUMS)
-        if (!passwordEncoder.matches(request.getPassword(), userAuthDetails.getPasswordHash())) {
+        // 2. Verify password in UMS, which owns the hash format and upgrades outdated hashes on success
+        if (!verifyPassword(request.getUsername(), request.getPassword())) {
             throw new BadCredentialsException(ErrorConstants.INVALID_CREDENTIALS);
         }
 
@@ -65,4 +61,16 @@ public class AuthService {
             .userProfile(userAuthDetails)
             .build();
     }
+
+    private boolean verifyPassword(String username, String password) {
+        try {
+            ApiResponse<Boolean> response = userManagementFeignClient.verifyPassword(username, new PasswordVerificationRequest(password));
+            return response != null && Boolean.TRUE.equals(response.getBody());
+        } catch (FeignException.NotFound ex) {
+            throw new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND_USERNAME, username));
+        } catch (FeignException ex) {
+            System.err.println("Error communicating with User Management Service: " + ex.getMessage());
+            throw new RuntimeException(ErrorConstants.UMS_COMMUNICATION_ERROR + ex.getMessage(), ex);
+        }
+    }
 }
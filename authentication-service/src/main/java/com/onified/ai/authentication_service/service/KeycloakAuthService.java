@@ -2,11 +2,16 @@ package com.onified.ai.authentication_service.service;
 
 import com.onified.ai.authentication_service.dto.LoginRequest;
 import com.onified.ai.authentication_service.dto.LoginResponse;
-import com.onified.ai.authentication_service.auth.client.UserManagementFeignClient;
+import com.onified.ai.authentication_service.constants.ErrorConstants;
 import com.onified.ai.authentication_service.dto.UserAuthDetailsResponse;
-import com.onified.ai.authentication_service.model.ApiResponse;
+import com.onified.ai.authentication_service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.keycloak.admin.client.Keycloak;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -14,17 +19,37 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KeycloakAuthService {
 
+    // Expanded per call; the template itself is the low-cardinality uri tag of the http.client.requests timer
+    private static final String TOKEN_PATH_TEMPLATE = "/realms/{realm}/protocol/openid-connect/token";
+    private static final String LOGOUT_PATH_TEMPLATE = "/realms/{realm}/protocol/openid-connect/logout";
+
     private final RestTemplate restTemplate;
-    private final UserManagementFeignClient userManagementFeignClient;
+    private final Keycloak keycloak;
+    private final UserProfileCache userProfileCache;
+    private final RefreshTokenCoalescer refreshTokenCoalescer;
+    private final KeycloakConcurrencyLimiter keycloakConcurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+
+    // Profile fetches overlap the token grant; virtual threads, as they only wait on I/O
+    private final ExecutorService loginExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${auth.login.parallel:true}")
+    private boolean parallelLogin;
 
     @Value("${keycloak.auth-server-url}")
     private String keycloakUrl;
@@ -38,8 +63,28 @@ public class KeycloakAuthService {
     @Value("${keycloak.client-secret}")
     private String clientSecret;
 
+    /**
+     * Password grant against Keycloak plus the user's UMS profile. With {@code auth.login.parallel} (default) the
+     * profile fetch starts on a virtual thread while the grant is in flight and is cancelled if the grant fails,
+     * so login latency is the slower of the two calls instead of their sum. Durations are recorded under
+     * {@code auth.login.duration}, tagged by mode and outcome, to compare both pipelines.
+     */
     public LoginResponse authenticateUser(LoginRequest loginRequest) {
+        // Shed before doing any work when Keycloak is saturated
+        if (!keycloakConcurrencyLimiter.tryAcquire()) {
+            throw new TooManyRequestsException(ErrorConstants.LOGIN_OVERLOADED, 1);
+        }
+        long start = System.nanoTime();
+        String outcome = "failure";
+        String username = loginRequest.getUsername();
+        boolean slotHandedOver = false;
+        Future<UserAuthDetailsResponse> profileFetch = null;
         try {
+            UserAuthDetailsResponse cachedProfile = userProfileCache.getCached(username);
+            if (cachedProfile == null && parallelLogin) {
+                profileFetch = loginExecutor.submit(() -> userProfileCache.fetch(username));
+            }
+
             // Prepare token request
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -48,27 +93,33 @@ public class KeycloakAuthService {
             tokenRequest.add("grant_type", "password");
             tokenRequest.add("client_id", clientId);
             tokenRequest.add("client_secret", clientSecret);
-            tokenRequest.add("username", loginRequest.getUsername());
+            tokenRequest.add("username", username);
             tokenRequest.add("password", loginRequest.getPassword());
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(tokenRequest, headers);
 
-            // Call Keycloak token endpoint
-            String tokenUrl = keycloakUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(tokenUrl, request, Map.class);
+            // Call Keycloak token endpoint; from here on requestPasswordGrant releases the slot, whatever happens
+            slotHandedOver = true;
+            Map<String, Object> response = requestPasswordGrant(request);
 
             if (response != null && response.containsKey("access_token")) {
-                // Fetch user profile from UMS
-                ApiResponse<UserAuthDetailsResponse> umsResponse = userManagementFeignClient.getUserAuthDetailsByUsername(loginRequest.getUsername());
-                UserAuthDetailsResponse userProfile = umsResponse != null ? umsResponse.getBody() : null;
+                // Fetch user profile from UMS, unless cached or already in flight
+                UserAuthDetailsResponse userProfile;
+                if (cachedProfile != null) {
+                    userProfile = cachedProfile;
+                } else if (profileFetch != null) {
+                    userProfile = awaitProfile(profileFetch);
+                } else {
+                    userProfile = userProfileCache.fetch(username);
+                }
+                userProfileCache.put(username, userProfile);
+                outcome = "success";
                 return LoginResponse.builder()
                         .accessToken((String) response.get("access_token"))
                         .refreshToken((String) response.get("refresh_token"))
                         .tokenType((String) response.get("token_type"))
                         .expiresIn((Integer) response.get("expires_in"))
-                        .username(loginRequest.getUsername())
+                        .username(username)
                         .userProfile(userProfile)
                         .build();
             } else {
@@ -78,10 +129,55 @@ public class KeycloakAuthService {
         } catch (Exception e) {
             log.error("Authentication error: {}", e.getMessage());
             throw new RuntimeException("Authentication failed: " + e.getMessage());
+        } finally {
+            if (!slotHandedOver) {
+                keycloakConcurrencyLimiter.onAbandoned(); // failed before reaching Keycloak
+            }
+            if (profileFetch != null && !profileFetch.isDone()) {
+                profileFetch.cancel(true); // interrupts the blocked UMS call on its virtual thread
+            }
+            Timer.builder("auth.login.duration")
+                    .tag("mode", parallelLogin ? "parallel" : "sequential")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Releases the limiter slot taken in authenticateUser, feeding it the outcome of the call
+    private Map<String, Object> requestPasswordGrant(HttpEntity<MultiValueMap<String, String>> request) {
+        long start = System.nanoTime();
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> response = restTemplate.postForObject(keycloakUrl + TOKEN_PATH_TEMPLATE, request, Map.class, realm);
+            keycloakConcurrencyLimiter.onSuccess(System.nanoTime() - start);
+            return response;
+        } catch (HttpClientErrorException e) {
+            keycloakConcurrencyLimiter.onSuccess(System.nanoTime() - start); // Keycloak answered, e.g. bad credentials
+            throw e;
+        } catch (RuntimeException e) {
+            keycloakConcurrencyLimiter.onDropped();
+            throw e;
+        }
+    }
+
+    private static UserAuthDetailsResponse awaitProfile(Future<UserAuthDetailsResponse> profileFetch) throws Exception {
+        try {
+            return profileFetch.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
         }
     }
 
+    /**
+     * Refresh grant against Keycloak. Concurrent requests with the same refresh token share one upstream call
+     * (see {@link RefreshTokenCoalescer}).
+     */
     public LoginResponse refreshToken(String refreshToken) {
+        return refreshTokenCoalescer.refresh(refreshToken, this::requestRefresh);
+    }
+
+    private LoginResponse requestRefresh(String refreshToken) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -94,10 +190,8 @@ public class KeycloakAuthService {
 
             HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(tokenRequest, headers);
 
-            String tokenUrl = keycloakUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-            
             @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(tokenUrl, request, Map.class);
+            Map<String, Object> response = restTemplate.postForObject(keycloakUrl + TOKEN_PATH_TEMPLATE, request, Map.class, realm);
 
             if (response != null && response.containsKey("access_token")) {
                 return LoginResponse.builder()
@@ -115,4 +209,44 @@ public class KeycloakAuthService {
             throw new RuntimeException("Token refresh failed: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Ends the Keycloak session behind the refresh token, so it cannot mint new tokens. Best effort: a session that
+     * is already gone or an unreachable Keycloak is logged, not thrown.
+     */
+    public void logout(String refreshToken) {
+        refreshTokenCoalescer.forget(refreshToken);
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> logoutRequest = new LinkedMultiValueMap<>();
+            logoutRequest.add("client_id", clientId);
+            logoutRequest.add("client_secret", clientSecret);
+            logoutRequest.add("refresh_token", refreshToken);
+
+            restTemplate.postForEntity(keycloakUrl + LOGOUT_PATH_TEMPLATE, new HttpEntity<>(logoutRequest, headers), Void.class, realm);
+        } catch (Exception e) {
+            log.warn("Keycloak logout failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the Keycloak session through the admin API, so none of its refresh tokens can be redeemed any more.
+     * Unlike {@link #logout(String)} this needs no refresh token, only the {@code sid} of an access token.
+     */
+    public void endSession(String sessionId) {
+        try {
+            keycloak.realm(realm).deleteSession(sessionId, false);
+        } catch (NotFoundException e) {
+            // Already ended or expired
+        } catch (Exception e) {
+            log.warn("Failed to end Keycloak session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loginExecutor.shutdownNow();
+    }
+}
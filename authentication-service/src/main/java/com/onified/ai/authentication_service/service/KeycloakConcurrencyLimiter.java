@@ -0,0 +1,100 @@
+package com.onified.ai.authentication_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive cap on concurrent password grants sent to Keycloak (AIMD).
+ * <p>
+ * Calls beyond the current limit are rejected immediately instead of queueing on a Keycloak that is already
+ * saturated. The limit grows by roughly one per round trip while Keycloak answers at its usual latency, and is cut
+ * multiplicatively when a call fails (timeout, connection error, 5xx) or takes longer than
+ * {@code latency-tolerance} times the long-run average. Metrics are published under {@code auth.login.limiter}.
+ */
+@Component
+public class KeycloakConcurrencyLimiter {
+
+    private static final String METRIC = "auth.login.limiter";
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double RTT_SMOOTHING = 0.05; // weight of each sample in the long-run average
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile double limit;
+    private double averageRttNanos; // guarded by this
+
+    public KeycloakConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${auth.login.limiter.initial-limit:20}") int initialLimit,
+                                      @Value("${auth.login.limiter.min-limit:5}") int minLimit,
+                                      @Value("${auth.login.limiter.max-limit:200}") int maxLimit,
+                                      @Value("${auth.login.limiter.latency-tolerance:2.0}") double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder(METRIC + ".limit", this, l -> l.limit).register(meterRegistry);
+        Gauge.builder(METRIC + ".in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        this.rejected = Counter.builder(METRIC + ".rejected").register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot if one is free. Every successful call must be paired with {@link #onSuccess}, {@link #onDropped}
+     * or {@link #onAbandoned}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Keycloak answered (including credential rejections) after rttNanos
+    public void onSuccess(long rttNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (averageRttNanos == 0) {
+                averageRttNanos = rttNanos;
+            }
+            if (rttNanos > averageRttNanos * latencyTolerance) {
+                decrease();
+            } else if (concurrency * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            averageRttNanos += (rttNanos - averageRttNanos) * RTT_SMOOTHING;
+        }
+    }
+
+    // Keycloak failed or timed out
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            decrease();
+        }
+    }
+
+    // The caller gave up before sending anything to Keycloak; frees the slot without judging Keycloak
+    public void onAbandoned() {
+        inFlight.decrementAndGet();
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+    }
+}
@@ -0,0 +1,109 @@
+package com.onified.ai.authentication_service.service;
+
+import com.onified.ai.authentication_service.constants.ErrorConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Realm roles of the Keycloak realm by name, loaded with a single admin call and kept in memory.
+ * <p>
+ * The whole role list is reloaded when it is older than {@code keycloak.roles.cache-ttl-seconds}, after
+ * {@link #invalidate()}, or when a caller asks for a role that is not cached (it was created since the last load).
+ * Reloads for unknown roles are rate limited by {@code keycloak.roles.min-refresh-seconds} so requests naming
+ * made-up roles cannot flood Keycloak. If a reload fails, the previous roles stay in use. Reloads are counted under
+ * {@code keycloak.roles.cache.reloads}.
+ */
+@Component
+@Slf4j
+public class KeycloakRoleCache {
+
+    private final Keycloak keycloak;
+    private final String realm;
+    private final long ttlMillis;
+    private final long minRefreshMillis;
+    private final Counter reloads;
+
+    private volatile Map<String, RoleRepresentation> roles = Map.of();
+    private volatile long loadedAt;
+    private volatile long lastAttemptAt;
+
+    public KeycloakRoleCache(Keycloak keycloak, MeterRegistry meterRegistry,
+                             @Value("${keycloak.realm}") String realm,
+                             @Value("${keycloak.roles.cache-ttl-seconds:300}") long ttlSeconds,
+                             @Value("${keycloak.roles.min-refresh-seconds:10}") long minRefreshSeconds) {
+        this.keycloak = keycloak;
+        this.realm = realm;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.minRefreshMillis = minRefreshSeconds * 1000;
+        this.reloads = Counter.builder("keycloak.roles.cache.reloads").register(meterRegistry);
+    }
+
+    /**
+     * Representations of the given realm roles, in the order given.
+     *
+     * @throws IllegalArgumentException if any role does not exist in the realm
+     */
+    public List<RoleRepresentation> resolve(Collection<String> roleNames) {
+        Set<String> names = new LinkedHashSet<>(roleNames);
+        long now = System.currentTimeMillis();
+        Map<String, RoleRepresentation> current = roles;
+        if (now - loadedAt >= ttlMillis || !current.keySet().containsAll(names)) {
+            reload(now);
+            current = roles;
+        }
+
+        List<RoleRepresentation> resolved = new ArrayList<>(names.size());
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            RoleRepresentation role = current.get(name);
+            if (role == null) {
+                missing.add(name);
+            } else {
+                resolved.add(role);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException(String.format(ErrorConstants.ROLES_NOT_FOUND, missing));
+        }
+        return resolved;
+    }
+
+    // Forces the next lookup to reload, e.g. after roles were created, renamed or deleted in Keycloak
+    public void invalidate() {
+        loadedAt = 0;
+        lastAttemptAt = 0;
+    }
+
+    private synchronized void reload(long now) {
+        // Also skips when another thread reloaded while this one waited for the lock
+        if (now - lastAttemptAt < minRefreshMillis) {
+            return;
+        }
+        lastAttemptAt = now;
+        try {
+            Map<String, RoleRepresentation> loaded = new HashMap<>();
+            for (RoleRepresentation role : keycloak.realm(realm).roles().list()) {
+                loaded.put(role.getName(), role);
+            }
+            roles = Map.copyOf(loaded);
+            loadedAt = now;
+            reloads.increment();
+            log.debug("Loaded {} realm roles from Keycloak", loaded.size());
+        } catch (Exception e) {
+            log.error("Failed to load realm roles from Keycloak: {}", e.getMessage());
+        }
+    }
+}
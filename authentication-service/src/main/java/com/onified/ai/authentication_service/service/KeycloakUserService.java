@@ -1,53 +1,64 @@
 package com.onified.ai.authentication_service.service;
 
+import com.onified.ai.authentication_service.constants.ErrorConstants;
+import com.onified.ai.authentication_service.dto.BatchUserDeletionResponse;
+import com.onified.ai.authentication_service.dto.BatchUserProvisioningResponse;
 import com.onified.ai.authentication_service.dto.UserCreateRequest;
 import lombok.RequiredArgsConstructor;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.admin.client.resource.UserResource;
-import org.keycloak.admin.client.resource.RolesResource;
+import org.keycloak.partialimport.PartialImportResult;
+import org.keycloak.partialimport.PartialImportResults;
+import org.keycloak.partialimport.ResourceType;
 import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.PartialImportRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.core.Response;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class KeycloakUserService {
 
     private final Keycloak keycloak;
+    private final KeycloakRoleCache roleCache;
 
     @Value("${keycloak.realm}")
     private String realm;
 
+    /**
+     * Create a user with a password and realm roles. Costs two admin calls (create, role mapping) since role
+     * representations come from {@link KeycloakRoleCache}; unknown roles are rejected before the user is created.
+     *
+     * @throws IllegalArgumentException if a role is unknown or Keycloak rejects the user (4xx)
+     */
     public String createUserInKeycloak(UserCreateRequest user) {
-        RealmResource realmResource = keycloak.realm(realm);
-        UsersResource usersResource = realmResource.users();
-
-        UserRepresentation userRep = new UserRepresentation();
-        userRep.setUsername(user.getUsername());
-        userRep.setEmail(user.getEmail());
-        userRep.setFirstName(user.getFirstName());
-        userRep.setLastName(user.getLastName());
-        userRep.setEnabled(true);
-
-        // Set password
-        CredentialRepresentation passwordCred = new CredentialRepresentation();
-        passwordCred.setTemporary(false);
-        passwordCred.setType(CredentialRepresentation.PASSWORD);
-        passwordCred.setValue(user.getPassword());
-        userRep.setCredentials(Collections.singletonList(passwordCred));
+        List<RoleRepresentation> roleReps = resolveRoles(user);
+        UsersResource usersResource = keycloak.realm(realm).users();
 
-        Response response = usersResource.create(userRep);
+        Response response = usersResource.create(toRepresentation(user));
         if (response.getStatus() != 201) {
+            response.close();
+            if (response.getStatusInfo().getFamily() == Response.Status.Family.CLIENT_ERROR) {
+                // e.g. 409 username or email taken: retrying will not help
+                throw new IllegalArgumentException(String.format(ErrorConstants.KEYCLOAK_USER_REJECTED,
+                    user.getUsername(), response.getStatusInfo()));
+            }
             throw new RuntimeException("Failed to create user in Keycloak: " + response.getStatusInfo());
         }
 
@@ -57,13 +68,166 @@ public class KeycloakUserService {
         response.close();
 
         // Assign roles if present
-        if (keycloakUserId != null && user.getRoles() != null && !user.getRoles().isEmpty()) {
-            assignRolesToUser(keycloakUserId, user.getRoles());
+        if (keycloakUserId != null && !roleReps.isEmpty()) {
+            usersResource.get(keycloakUserId).roles().realmLevel().add(roleReps);
         }
 
         return keycloakUserId;
     }
 
+    /**
+     * Creates a registered user in Keycloak, or adopts the account if an earlier attempt of the same registration
+     * created it but its response was lost. On a conflict the existing account is only adopted when it was created
+     * no earlier than {@code notCreatedBefore} and has the registration's email; any other account with that
+     * username or email belongs to someone else and is left alone. Roles are not assigned here, see
+     * {@link #assignRealmRoles}.
+     *
+     * @return the Keycloak user id
+     * @throws IllegalArgumentException if a role is unknown, the username or email belongs to another account, or
+     *                                  Keycloak rejects the user (4xx)
+     */
+    public String createOrAdoptUser(UserCreateRequest user, Instant notCreatedBefore) {
+        resolveRoles(user);
+        UsersResource usersResource = keycloak.realm(realm).users();
+        try (Response response = usersResource.create(toRepresentation(user))) {
+            if (response.getStatus() == 201) {
+                return response.getHeaderString("Location").replaceAll(".*/([^/]+)$", "$1");
+            }
+            if (response.getStatus() != 409) {
+                if (response.getStatusInfo().getFamily() == Response.Status.Family.CLIENT_ERROR) {
+                    throw new IllegalArgumentException(String.format(ErrorConstants.KEYCLOAK_USER_REJECTED,
+                        user.getUsername(), response.getStatusInfo()));
+                }
+                throw new RuntimeException("Failed to create user in Keycloak: " + response.getStatusInfo());
+            }
+        }
+
+        UserRepresentation existing = findByUsername(usersResource, user.getUsername());
+        boolean ours = existing != null
+            && existing.getCreatedTimestamp() != null
+            && existing.getCreatedTimestamp() >= notCreatedBefore.toEpochMilli()
+            && existing.getEmail() != null && existing.getEmail().equalsIgnoreCase(user.getEmail());
+        if (!ours) {
+            throw new IllegalArgumentException(String.format(ErrorConstants.KEYCLOAK_USER_CONFLICT, user.getUsername()));
+        }
+        // The lost attempt may have been sent with the same password, but make sure
+        usersResource.get(existing.getId()).resetPassword(passwordCredential(user.getPassword()));
+        return existing.getId();
+    }
+
+    // Adds the user's realm roles to the account; adding roles it already has is a no-op, so retries are safe
+    public void assignRealmRoles(String keycloakUserId, UserCreateRequest user) {
+        List<RoleRepresentation> roleReps = resolveRoles(user);
+        if (!roleReps.isEmpty()) {
+            keycloak.realm(realm).users().get(keycloakUserId).roles().realmLevel().add(roleReps);
+        }
+    }
+
+    /**
+     * Deletes the account with this Keycloak id.
+     *
+     * @return false if it did not exist
+     * @throws RuntimeException if Keycloak could not be reached or refused, so the caller can retry
+     */
+    public boolean deleteUserById(String keycloakUserId) {
+        try {
+            keycloak.realm(realm).users().get(keycloakUserId).remove();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create several users with their passwords and realm roles.
+     * Users and role mappings are sent in one partial import, skipping usernames that already exist. Users naming
+     * unknown roles are reported as failed without being sent. If the import is rejected as a whole (e.g. one email
+     * is taken), users are created one by one so the rest still go through.
+     */
+    public BatchUserProvisioningResponse provisionUsers(Collection<UserCreateRequest> users) {
+        BatchUserProvisioningResponse result = new BatchUserProvisioningResponse();
+        Map<String, UserCreateRequest> byUsername = new LinkedHashMap<>();
+        Map<String, List<RoleRepresentation>> rolesByUsername = new LinkedHashMap<>();
+        for (UserCreateRequest user : users) {
+            if (user.getUsername() == null || user.getUsername().isBlank()) {
+                result.getFailed().add(user.getUsername());
+                continue;
+            }
+            String username = user.getUsername().toLowerCase(Locale.ROOT);
+            if (byUsername.containsKey(username)) {
+                continue;
+            }
+            try {
+                rolesByUsername.put(username, resolveRoles(user));
+                byUsername.put(username, user);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Not provisioning user '" + username + "': " + e.getMessage());
+                result.getFailed().add(username);
+            }
+        }
+        if (byUsername.isEmpty()) {
+            return result;
+        }
+
+        RealmResource realmResource = keycloak.realm(realm);
+        PartialImportRepresentation importRep = new PartialImportRepresentation();
+        importRep.setIfResourceExists(PartialImportRepresentation.Policy.SKIP.name());
+        importRep.setUsers(byUsername.values().stream().map(user -> {
+            UserRepresentation userRep = toRepresentation(user);
+            userRep.setRealmRoles(user.getRoles() != null ? new ArrayList<>(user.getRoles()) : null);
+            return userRep;
+        }).toList());
+
+        try (Response response = realmResource.partialImport(importRep)) {
+            if (response.getStatus() == 200) {
+                PartialImportResults importResults = response.readEntity(PartialImportResults.class);
+                for (PartialImportResult entry : importResults.getResults()) {
+                    if (entry.getResourceType() != ResourceType.USER) {
+                        continue;
+                    }
+                    switch (entry.getAction()) {
+                        case ADDED -> result.getCreated().put(entry.getResourceName(), entry.getId());
+                        case SKIPPED -> result.getExisting().add(entry.getResourceName());
+                        default -> { }
+                    }
+                }
+                logProvisioning(result);
+                return result;
+            }
+            System.err.println("Keycloak rejected partial import (" + response.getStatus()
+                + "), creating users one by one");
+        } catch (Exception e) {
+            System.err.println("Keycloak partial import failed, creating users one by one: " + e.getMessage());
+        }
+
+        UsersResource usersResource = realmResource.users();
+        byUsername.forEach((username, user) -> {
+            try (Response response = usersResource.create(toRepresentation(user))) {
+                if (response.getStatus() == 409) {
+                    result.getExisting().add(username);
+                    return;
+                }
+                if (response.getStatus() != 201) {
+                    System.err.println("Error creating user '" + username + "' in Keycloak: " + response.getStatusInfo());
+                    result.getFailed().add(username);
+                    return;
+                }
+                String location = response.getHeaderString("Location");
+                String keycloakUserId = location.replaceAll(".*/([^/]+)$", "$1");
+                List<RoleRepresentation> roleReps = rolesByUsername.get(username);
+                if (!roleReps.isEmpty()) {
+                    usersResource.get(keycloakUserId).roles().realmLevel().add(roleReps);
+                }
+                result.getCreated().put(username, keycloakUserId);
+            } catch (Exception e) {
+                System.err.println("Error creating user '" + username + "' in Keycloak: " + e.getMessage());
+                result.getFailed().add(username);
+            }
+        });
+        logProvisioning(result);
+        return result;
+    }
+
     /**
      * Delete a user from Keycloak by username
      * @param username The username of the user to delete
@@ -74,20 +238,7 @@ public class KeycloakUserService {
             RealmResource realmResource = keycloak.realm(realm);
             UsersResource usersResource = realmResource.users();
 
-            // Search for user by username
-            List<UserRepresentation> users = usersResource.search(username, true);
-            
-            if (users.isEmpty()) {
-                System.out.println("User '" + username + "' not found in Keycloak");
-                return false;
-            }
-
-            // Find the exact match
-            UserRepresentation userToDelete = users.stream()
-                .filter(user -> username.equals(user.getUsername()))
-                .findFirst()
-                .orElse(null);
-
+            UserRepresentation userToDelete = findByUsername(usersResource, username);
             if (userToDelete == null) {
                 System.out.println("User '" + username + "' not found in Keycloak");
                 return false;
@@ -105,6 +256,52 @@ public class KeycloakUserService {
         }
     }
 
+    /**
+     * Delete several users from Keycloak, by Keycloak user id or, for accounts whose id the caller does not know,
+     * by exact username. Unlike {@link #deleteUserFromKeycloak(String)}, a missing user and a failed call are
+     * reported separately (under the id or username sent), so callers know which ones to retry.
+     */
+    public BatchUserDeletionResponse deleteUsersFromKeycloak(Collection<String> usernames, Collection<String> userIds) {
+        BatchUserDeletionResponse result = new BatchUserDeletionResponse();
+        UsersResource usersResource = keycloak.realm(realm).users();
+
+        for (String userId : userIds == null ? List.<String>of() : new LinkedHashSet<>(userIds)) {
+            try (Response response = usersResource.delete(userId)) {
+                if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+                    result.getNotFound().add(userId);
+                } else if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
+                    result.getDeleted().add(userId);
+                } else {
+                    System.err.println("Error deleting user " + userId + " from Keycloak: HTTP " + response.getStatus());
+                    result.getFailed().add(userId);
+                }
+            } catch (Exception e) {
+                System.err.println("Error deleting user " + userId + " from Keycloak: " + e.getMessage());
+                result.getFailed().add(userId);
+            }
+        }
+        for (String username : usernames == null ? List.<String>of() : new LinkedHashSet<>(usernames)) {
+            try {
+                UserRepresentation userToDelete = findByUsername(usersResource, username);
+                if (userToDelete == null) {
+                    result.getNotFound().add(username);
+                    continue;
+                }
+                usersResource.delete(userToDelete.getId());
+                result.getDeleted().add(username);
+            } catch (NotFoundException e) {
+                // Deleted concurrently between lookup and delete
+                result.getNotFound().add(username);
+            } catch (Exception e) {
+                System.err.println("Error deleting user '" + username + "' from Keycloak: " + e.getMessage());
+                result.getFailed().add(username);
+            }
+        }
+        System.out.println("Batch Keycloak deletion: " + result.getDeleted().size() + " deleted, "
+            + result.getNotFound().size() + " not found, " + result.getFailed().size() + " failed");
+        return result;
+    }
+
     /**
      * Delete a user from Keycloak by Keycloak user ID
      * @param keycloakUserId The Keycloak user ID
@@ -140,15 +337,43 @@ public class KeycloakUserService {
         }
     }
 
-    private void assignRolesToUser(String userId, Set<String> roles) {
-        RealmResource realmResource = keycloak.realm(realm);
-        UserResource userResource = realmResource.users().get(userId);
-        RolesResource rolesResource = realmResource.roles();
-        // Fetch all role representations
-        java.util.List<RoleRepresentation> roleReps = roles.stream()
-            .map(roleName -> rolesResource.get(roleName).toRepresentation())
-            .collect(Collectors.toList());
-        // Assign roles at realm level
-        userResource.roles().realmLevel().add(roleReps);
+    private static void logProvisioning(BatchUserProvisioningResponse result) {
+        System.out.println("Batch Keycloak provisioning: " + result.getCreated().size() + " created, "
+            + result.getExisting().size() + " existing, " + result.getFailed().size() + " failed");
+    }
+
+    // Exact, case-insensitive username lookup (Keycloak stores usernames in lower case)
+    private static UserRepresentation findByUsername(UsersResource usersResource, String username) {
+        return usersResource.searchByUsername(username, true).stream()
+            .filter(user -> username.equalsIgnoreCase(user.getUsername()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private List<RoleRepresentation> resolveRoles(UserCreateRequest user) {
+        if (user.getRoles() == null || user.getRoles().isEmpty()) {
+            return List.of();
+        }
+        return roleCache.resolve(user.getRoles());
+    }
+
+    private static UserRepresentation toRepresentation(UserCreateRequest user) {
+        UserRepresentation userRep = new UserRepresentation();
+        userRep.setUsername(user.getUsername());
+        userRep.setEmail(user.getEmail());
+        userRep.setFirstName(user.getFirstName());
+        userRep.setLastName(user.getLastName());
+        userRep.setEnabled(true);
+
+        userRep.setCredentials(Collections.singletonList(passwordCredential(user.getPassword())));
+        return userRep;
+    }
+
+    private static CredentialRepresentation passwordCredential(String password) {
+        CredentialRepresentation passwordCred = new CredentialRepresentation();
+        passwordCred.setTemporary(false);
+        passwordCred.setType(CredentialRepresentation.PASSWORD);
+        passwordCred.setValue(password);
+        return passwordCred;
     }
-} 
\ No newline at end of file
+}
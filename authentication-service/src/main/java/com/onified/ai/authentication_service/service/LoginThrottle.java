@@ -0,0 +1,145 @@
+package com.onified.ai.authentication_service.service;
+
+import com.onified.ai.authentication_service.constants.ErrorConstants;
+import com.onified.ai.authentication_service.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-username and per-client-IP limits on login attempts over a sliding window, held in memory.
+ * <p>
+ * Each key has a sliding-window counter: the previous fixed window's count, weighted by how much of it still
+ * overlaps the sliding window, plus the current window's count. Counters live in lock-striped maps so unrelated
+ * keys rarely contend. Rejected attempts are not counted. Stale counters are swept when a stripe grows large.
+ * Rejections are counted under {@code auth.login.throttled}.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+    private static final int SWEEP_THRESHOLD = 4096; // keys per stripe
+
+    private final long windowMillis;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.login.throttle.window-seconds:60}") long windowSeconds,
+                         @Value("${auth.login.throttle.max-per-username:10}") int maxPerUsername,
+                         @Value("${auth.login.throttle.max-per-ip:50}") int maxPerIp) {
+        this.windowMillis = windowSeconds * 1000;
+        this.maxPerUsername = maxPerUsername;
+        this.maxPerIp = maxPerIp;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.usernameRejections = Counter.builder("auth.login.throttled").tag("key", "username").register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Records a login attempt, or rejects it if the username or client IP is over its limit.
+     *
+     * @throws TooManyRequestsException with the seconds until the current window ends
+     */
+    public void acquire(String username, String clientIp) {
+        long now = System.currentTimeMillis();
+        String usernameKey = "u:" + (username == null ? "" : username.toLowerCase(Locale.ROOT));
+        String ipKey = "ip:" + clientIp;
+
+        long retryAfter = overLimit(usernameKey, maxPerUsername, now);
+        if (retryAfter > 0) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException(String.format(ErrorConstants.LOGIN_RATE_LIMITED, retryAfter), retryAfter);
+        }
+        retryAfter = overLimit(ipKey, maxPerIp, now);
+        if (retryAfter > 0) {
+            ipRejections.increment();
+            throw new TooManyRequestsException(String.format(ErrorConstants.LOGIN_RATE_LIMITED, retryAfter), retryAfter);
+        }
+        record(usernameKey, now);
+        record(ipKey, now);
+    }
+
+    // Seconds until the key's window rolls over if it is at its limit, otherwise 0
+    private long overLimit(String key, int max, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null || window.estimate(now, windowMillis) < max) {
+                return 0;
+            }
+            return Math.max(1, (window.start + windowMillis - now + 999) / 1000);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void record(String key, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            if (stripe.windows.size() >= SWEEP_THRESHOLD) {
+                stripe.windows.values().removeIf(w -> now - w.start >= 2 * windowMillis);
+            }
+            stripe.windows.computeIfAbsent(key, k -> new Window(now)).add(now, windowMillis);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Window> windows = new HashMap<>();
+    }
+
+    // Guarded by the owning stripe's lock
+    private static final class Window {
+        long start;
+        int previous;
+        int current;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        double estimate(long now, long windowMillis) {
+            roll(now, windowMillis);
+            double overlap = 1.0 - (double) (now - start) / windowMillis;
+            return previous * overlap + current;
+        }
+
+        void add(long now, long windowMillis) {
+            roll(now, windowMillis);
+            current++;
+        }
+
+        private void roll(long now, long windowMillis) {
+            long elapsed = now - start;
+            if (elapsed >= 2 * windowMillis) {
+                previous = 0;
+                current = 0;
+                start = now;
+            } else if (elapsed >= windowMillis) {
+                previous = current;
+                current = 0;
+                start += windowMillis;
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.onified.ai.authentication_service.service;
+
+import com.onified.ai.authentication_service.dto.LoginResponse;
+import com.onified.ai.authentication_service.security.TokenHashes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Collapses duplicate refresh requests for the same refresh token into one Keycloak call.
+ * <p>
+ * Requests arriving while a refresh for the token is in flight wait for it and receive the same result (or
+ * failure). Successful results are then kept for {@code auth.refresh.result-ttl-seconds} so stragglers, e.g. the
+ * last browser tab to wake up, get the already rotated tokens instead of presenting a refresh token Keycloak may
+ * have just invalidated. Tokens are keyed by SHA-256 hash. Outcomes are counted under {@code auth.refresh.requests}.
+ */
+@Component
+public class RefreshTokenCoalescer {
+
+    private static final String METRIC = "auth.refresh.requests";
+    private static final int MAX_RESULTS = 10000;
+
+    private final long resultTtlMillis;
+    private final Map<String, CompletableFuture<LoginResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, CachedResult> results = new ConcurrentHashMap<>();
+    private final Counter upstream;
+    private final Counter coalesced;
+    private final Counter cached;
+
+    public RefreshTokenCoalescer(MeterRegistry meterRegistry,
+                                 @Value("${auth.refresh.result-ttl-seconds:5}") long resultTtlSeconds) {
+        this.resultTtlMillis = resultTtlSeconds * 1000;
+        this.upstream = Counter.builder(METRIC).tag("result", "upstream").register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC).tag("result", "coalesced").register(meterRegistry);
+        this.cached = Counter.builder(METRIC).tag("result", "cached").register(meterRegistry);
+    }
+
+    public LoginResponse refresh(String refreshToken, Function<String, LoginResponse> loader) {
+        String key = TokenHashes.sha256(refreshToken);
+        long now = System.currentTimeMillis();
+        CachedResult result = results.get(key);
+        if (result != null && result.expiresAt > now) {
+            cached.increment();
+            return result.response;
+        }
+
+        CompletableFuture<LoginResponse> mine = new CompletableFuture<>();
+        CompletableFuture<LoginResponse> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        // This thread leads: call upstream, publish to the followers, then release the slot
+        upstream.increment();
+        try {
+            LoginResponse response = loader.apply(refreshToken);
+            remember(key, response);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Drops a replayable result, e.g. on logout
+    public void forget(String refreshToken) {
+        results.remove(TokenHashes.sha256(refreshToken));
+    }
+
+    private void remember(String key, LoginResponse response) {
+        if (resultTtlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (results.size() >= MAX_RESULTS) {
+            results.values().removeIf(r -> r.expiresAt <= now);
+            if (results.size() >= MAX_RESULTS) {
+                return; // still full of live results; skip caching rather than grow
+            }
+        }
+        results.put(key, new CachedResult(response, now + resultTtlMillis));
+    }
+
+    private static LoginResponse join(CompletableFuture<LoginResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CachedResult(LoginResponse response, long expiresAt) {
+    }
+}
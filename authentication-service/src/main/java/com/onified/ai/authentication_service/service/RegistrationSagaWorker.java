@@ -0,0 +1,238 @@
+package com.onified.ai.authentication_service.service;
+
+import com.onified.ai.authentication_service.auth.client.UserManagementFeignClient;
+import com.onified.ai.authentication_service.constants.ErrorConstants;
+import com.onified.ai.authentication_service.dto.KeycloakAccountLinkRequest;
+import com.onified.ai.authentication_service.dto.UserCreateRequest;
+import com.onified.ai.authentication_service.entity.RegistrationSaga;
+import com.onified.ai.authentication_service.entity.RegistrationSaga.SagaStatus;
+import com.onified.ai.authentication_service.repository.RegistrationSagaRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Advances {@link RegistrationSaga}s on a fixed worker pool: provisions the user in Keycloak, retrying transient
+ * failures with exponential backoff, and deletes the UMS user again once provisioning cannot succeed (Keycloak
+ * rejected the user, the username belongs to another Keycloak account, or {@code max-attempts} ran out).
+ * Compensation only ever deletes the Keycloak account whose id the saga recorded.
+ * <p>
+ * New sagas are handed over by {@link RegistrationService} and start immediately; a poller picks up due retries
+ * and compensations. Each step runs with the saga row locked FOR UPDATE SKIP LOCKED, so a saga is never advanced
+ * twice concurrently, including across instances. Passwords live only in this instance's memory: a provisioning
+ * saga whose owner restarted is found by the orphan scan after {@code orphan-timeout-seconds} and compensated.
+ * Outcomes are counted under {@code auth.registration.sagas}.
+ */
+@Service
+@Slf4j
+public class RegistrationSagaWorker {
+
+    private static final String METRIC_NAME = "auth.registration.sagas";
+
+    private final RegistrationSagaRepository sagaRepository;
+    private final KeycloakUserService keycloakUserService;
+    private final UserManagementFeignClient userManagementFeignClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<UUID, String> passwords = new ConcurrentHashMap<>();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter compensated;
+    private final Counter failed;
+
+    @Value("${auth.registration.batch-size:100}")
+    private int batchSize;
+
+    @Value("${auth.registration.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${auth.registration.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${auth.registration.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${auth.registration.orphan-timeout-seconds:600}")
+    private long orphanTimeoutSeconds;
+
+    // Tolerated clock difference to Keycloak when deciding whether an existing account was created by this saga
+    @Value("${auth.registration.clock-skew-seconds:30}")
+    private long clockSkewSeconds;
+
+    public RegistrationSagaWorker(RegistrationSagaRepository sagaRepository,
+                                  KeycloakUserService keycloakUserService,
+                                  UserManagementFeignClient userManagementFeignClient,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.registration.worker-threads:4}") int workerThreads) {
+        this.sagaRepository = sagaRepository;
+        this.keycloakUserService = keycloakUserService;
+        this.userManagementFeignClient = userManagementFeignClient;
+        this.transactionTemplate = transactionTemplate;
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.completed = Counter.builder(METRIC_NAME).tag("result", "completed").register(meterRegistry);
+        this.retried = Counter.builder(METRIC_NAME).tag("result", "retried").register(meterRegistry);
+        this.compensated = Counter.builder(METRIC_NAME).tag("result", "compensated").register(meterRegistry);
+        this.failed = Counter.builder(METRIC_NAME).tag("result", "failed").register(meterRegistry);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // Starts a newly persisted saga; the password is kept in memory until Keycloak has it
+    public void start(UUID sagaId, String password) {
+        passwords.put(sagaId, password);
+        enqueue(sagaId);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.registration.poll-interval-ms:5000}")
+    public void poll() {
+        Instant now = Instant.now();
+        sagaRepository.findDueIds(instanceId, now, PageRequest.of(0, batchSize)).forEach(this::enqueue);
+        sagaRepository.findOrphanedIds(instanceId, now.minusSeconds(orphanTimeoutSeconds), PageRequest.of(0, batchSize))
+                .forEach(this::enqueue);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void enqueue(UUID sagaId) {
+        if (!queued.add(sagaId)) {
+            return; // already waiting for a worker
+        }
+        try {
+            workers.execute(() -> process(sagaId));
+        } catch (RejectedExecutionException e) {
+            queued.remove(sagaId); // shutting down; the poller of another instance takes over
+        }
+    }
+
+    private void process(UUID sagaId) {
+        queued.remove(sagaId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> sagaRepository.lockById(sagaId).ifPresent(this::advance));
+        } catch (Exception e) {
+            log.error("Failed to advance registration saga {}: {}", sagaId, e.getMessage());
+        }
+    }
+
+    private void advance(RegistrationSaga saga) {
+        if (saga.getNextAttemptAt().isAfter(Instant.now())) {
+            return; // advanced by someone else since it was queued
+        }
+        switch (saga.getStatus()) {
+            case PROVISIONING -> provision(saga);
+            case COMPENSATING -> compensate(saga);
+            default -> passwords.remove(saga.getId());
+        }
+    }
+
+    private void provision(RegistrationSaga saga) {
+        String password = passwords.get(saga.getId());
+        if (password == null && saga.getKeycloakUserId() == null) {
+            // Once the account exists the password is no longer needed: the remaining steps are roles and the UMS link
+            beginCompensation(saga, ErrorConstants.REGISTRATION_CREDENTIALS_LOST);
+            return;
+        }
+        try {
+            UserCreateRequest request = saga.toUserCreateRequest(password);
+            if (saga.getKeycloakUserId() == null) {
+                // Recorded before the roles step, so compensation knows which account this saga created
+                saga.setKeycloakUserId(keycloakUserService.createOrAdoptUser(request,
+                        saga.getCreatedAt().minusSeconds(clockSkewSeconds)));
+            }
+            keycloakUserService.assignRealmRoles(saga.getKeycloakUserId(), request);
+            // Lets UMS delete this exact account later instead of whichever account then has the username
+            userManagementFeignClient.linkKeycloakAccount(saga.getUserId(),
+                    new KeycloakAccountLinkRequest(saga.getKeycloakUserId()));
+            saga.setStatus(SagaStatus.COMPLETED);
+            saga.setLastError(null);
+            passwords.remove(saga.getId());
+            completed.increment();
+        } catch (IllegalArgumentException e) {
+            beginCompensation(saga, e.getMessage());
+        } catch (FeignException.NotFound e) {
+            beginCompensation(saga, ErrorConstants.REGISTRATION_USER_DELETED);
+        } catch (Exception e) {
+            if (saga.getAttempts() + 1 >= maxAttempts) {
+                beginCompensation(saga, e.getMessage());
+            } else {
+                scheduleRetry(saga, e.getMessage());
+            }
+        }
+    }
+
+    private void beginCompensation(RegistrationSaga saga, String reason) {
+        log.warn("Registration of '{}' cannot be completed, deleting the UMS user: {}", saga.getUsername(), reason);
+        passwords.remove(saga.getId());
+        saga.setStatus(SagaStatus.COMPENSATING);
+        saga.setOwnerId(instanceId);
+        saga.setFailureReason(truncate(reason));
+        saga.setAttempts(0);
+        compensate(saga);
+    }
+
+    // Only the Keycloak account this saga recorded is deleted; UMS is told to leave Keycloak alone, since an
+    // account with the same username that the saga did not create belongs to someone else
+    private void compensate(RegistrationSaga saga) {
+        try {
+            if (saga.getKeycloakUserId() != null) {
+                keycloakUserService.deleteUserById(saga.getKeycloakUserId());
+                saga.setKeycloakUserId(null);
+            }
+            userManagementFeignClient.deleteUser(saga.getUserId(), false);
+        } catch (FeignException.NotFound e) {
+            // Already gone
+        } catch (Exception e) {
+            if (saga.getAttempts() + 1 >= maxAttempts) {
+                saga.setAttempts(saga.getAttempts() + 1);
+                saga.setStatus(SagaStatus.FAILED);
+                saga.setLastError(truncate(e.getMessage()));
+                failed.increment();
+                log.error("Giving up compensating registration of '{}' (UMS user {}) after {} attempts: {}",
+                        saga.getUsername(), saga.getUserId(), saga.getAttempts(), e.getMessage());
+            } else {
+                scheduleRetry(saga, e.getMessage());
+            }
+            return;
+        }
+        saga.setStatus(SagaStatus.COMPENSATED);
+        saga.setLastError(null);
+        compensated.increment();
+    }
+
+    private void scheduleRetry(RegistrationSaga saga, String error) {
+        int attempts = saga.getAttempts() + 1;
+        saga.setAttempts(attempts);
+        saga.setLastError(truncate(error));
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        saga.setNextAttemptAt(Instant.now().plus(Duration.ofMillis(backoff)));
+        retried.increment();
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -1,33 +1,76 @@
 package com.onified.ai.authentication_service.service;
 
 import com.onified.ai.authentication_service.auth.client.UserManagementFeignClient;
+import com.onified.ai.authentication_service.constants.ErrorConstants;
+import com.onified.ai.authentication_service.dto.RegistrationResponse;
+import com.onified.ai.authentication_service.dto.RegistrationStatusResponse;
 import com.onified.ai.authentication_service.dto.UserCreateRequest;
 import com.onified.ai.authentication_service.dto.UserResponse;
+import com.onified.ai.authentication_service.entity.RegistrationSaga;
+import com.onified.ai.authentication_service.exception.RegistrationNotFoundException;
 import com.onified.ai.authentication_service.model.ApiResponse;
+import com.onified.ai.authentication_service.repository.RegistrationSagaRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Registers users as a saga: the UMS user is created synchronously, Keycloak provisioning (and, if it fails for
+ * good, deletion of the UMS user) is left to {@link RegistrationSagaWorker}.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RegistrationService {
     private final UserManagementFeignClient userManagementFeignClient;
-    private final KeycloakUserService keycloakUserService;
+    private final KeycloakRoleCache keycloakRoleCache;
+    private final RegistrationSagaRepository registrationSagaRepository;
+    private final RegistrationSagaWorker registrationSagaWorker;
+
+    public RegistrationResponse registerUser(UserCreateRequest request) {
+        // Reject unknown roles before anything is written
+        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
+            keycloakRoleCache.resolve(request.getRoles());
+        }
 
-    public UserResponse registerUser(UserCreateRequest request) {
         ApiResponse<UserResponse> response = userManagementFeignClient.createUser(request);
         if (response == null || response.getStatusCode() != 201 || response.getBody() == null) {
-            throw new RuntimeException("User creation failed in user-management-service");
+            throw new RuntimeException(ErrorConstants.REGISTRATION_FAILED);
+        }
+        UserResponse user = response.getBody();
+
+        RegistrationSaga saga;
+        try {
+            saga = registrationSagaRepository.save(
+                    new RegistrationSaga(user.getId(), request, registrationSagaWorker.getInstanceId()));
+        } catch (RuntimeException e) {
+            // Nothing would ever provision this user, so undo the UMS write; Keycloak was not touched yet
+            try {
+                userManagementFeignClient.deleteUser(user.getId(), false);
+            } catch (Exception deleteError) {
+                log.error("Failed to delete UMS user {} after registration error: {}", user.getId(), deleteError.getMessage());
+            }
+            throw e;
         }
-        // Create user in Keycloak
-        keycloakUserService.createUserInKeycloak(request);
-        return response.getBody();
+        registrationSagaWorker.start(saga.getId(), request.getPassword());
+        return new RegistrationResponse(saga.getId(), saga.getStatus().name(), user);
     }
 
-    public UserResponse registerUserWithRole(UserCreateRequest request, String role) {
+    public RegistrationResponse registerUserWithRole(UserCreateRequest request, String role) {
         // Override roles with the provided role
         request.setRoles(Set.of(role));
         return registerUser(request);
     }
-} 
\ No newline at end of file
+
+    public RegistrationStatusResponse getRegistrationStatus(UUID registrationId) {
+        RegistrationSaga saga = registrationSagaRepository.findById(registrationId)
+                .orElseThrow(() -> new RegistrationNotFoundException(
+                        String.format(ErrorConstants.REGISTRATION_NOT_FOUND, registrationId)));
+        return new RegistrationStatusResponse(saga.getId(), saga.getUserId(), saga.getUsername(),
+                saga.getStatus().name(), saga.getAttempts(), saga.getFailureReason(), saga.getLastError(),
+                saga.getCreatedAt(), saga.getUpdatedAt());
+    }
+}
@@ -0,0 +1,74 @@
+package com.onified.ai.authentication_service.service;
+
+import com.onified.ai.authentication_service.auth.client.UserManagementFeignClient;
+import com.onified.ai.authentication_service.dto.UserAuthDetailsResponse;
+import com.onified.ai.authentication_service.model.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the UMS profiles returned with a login, so that repeated logins of the same user within
+ * {@code auth.login.profile-cache-ttl-seconds} skip the UMS call. Only profiles of users who just authenticated
+ * are stored. A TTL of 0 disables the cache. Lookups are counted under {@code auth.login.profile}.
+ */
+@Component
+public class UserProfileCache {
+
+    private static final int MAX_ENTRIES = 10000;
+
+    private final UserManagementFeignClient userManagementFeignClient;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter cacheHits;
+    private final Counter remoteFetches;
+
+    public UserProfileCache(UserManagementFeignClient userManagementFeignClient, MeterRegistry meterRegistry,
+                            @Value("${auth.login.profile-cache-ttl-seconds:30}") long ttlSeconds) {
+        this.userManagementFeignClient = userManagementFeignClient;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cacheHits = Counter.builder("auth.login.profile").tag("source", "cache").register(meterRegistry);
+        this.remoteFetches = Counter.builder("auth.login.profile").tag("source", "remote").register(meterRegistry);
+    }
+
+    // Cached profile, or null if absent or expired
+    public UserAuthDetailsResponse getCached(String username) {
+        if (ttlMillis <= 0) {
+            return null;
+        }
+        Entry entry = entries.get(username);
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        cacheHits.increment();
+        return entry.profile;
+    }
+
+    // Fetches from UMS without touching the cache
+    public UserAuthDetailsResponse fetch(String username) {
+        remoteFetches.increment();
+        ApiResponse<UserAuthDetailsResponse> umsResponse = userManagementFeignClient.getUserAuthDetailsByUsername(username);
+        return umsResponse != null ? umsResponse.getBody() : null;
+    }
+
+    public void put(String username, UserAuthDetailsResponse profile) {
+        if (ttlMillis <= 0 || profile == null) {
+            return;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear(); // short TTL: refilling is cheap
+            }
+        }
+        entries.put(username, new Entry(profile, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private record Entry(UserAuthDetailsResponse profile, long expiresAt) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.onified.ai.authentication_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    // The gateway's RevocationFilterClientTest probes these same words; change both if the layout changes
+    private static final String[] KEYS = {"jti:token-1", "jti:token-2", "sid:session-1"};
+    private static final long[] WORDS = {0x10140800a0408502L, 0x8089160040a00609L};
+    private static final int NUM_HASHES = 9;
+
+    @Test
+    void insertedKeysAreAlwaysFound() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti:" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("jti:" + i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti:" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("sid:" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 3000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void hashIsFnv1a64OfUtf8Bytes() {
+        assertEquals(0xcbf29ce484222325L, BloomFilter.hash(""));
+        assertEquals(0xc757afeb0c00da7fL, BloomFilter.hash("jti:token-1"));
+    }
+
+    @Test
+    void writesWordsInTheDocumentedLayout() throws IOException {
+        BloomFilter filter = BloomFilter.create(10, 0.01);
+        for (String key : KEYS) {
+            filter.put(key);
+        }
+        assertEquals(NUM_HASHES, filter.getNumHashes());
+        assertArrayEquals(WORDS, readWords(filter));
+    }
+
+    @Test
+    void serializedWordsProbeLikeTheFilter() throws IOException {
+        BloomFilter filter = BloomFilter.create(100, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.put("jti:" + i);
+        }
+        long[] words = readWords(filter);
+        for (int i = 0; i < 1000; i++) {
+            String key = (i % 2 == 0 ? "jti:" : "sid:") + i;
+            assertEquals(filter.mightContain(key), probe(words, filter.getNumHashes(), key), key);
+        }
+        assertFalse(probe(new long[words.length], filter.getNumHashes(), "jti:0"));
+    }
+
+    private static long[] readWords(BloomFilter filter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            filter.writeWords(out);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        assertEquals(0, in.available());
+        return words;
+    }
+
+    // The probe as described in the BloomFilter class comment, independent of its implementation
+    private static boolean probe(long[] words, int numHashes, String key) {
+        long hash = BloomFilter.hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long numBits = (long) words.length * Long.SIZE;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+            if ((words[(int) (bit / 64)] & (1L << (bit % 64))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.onified.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A 200 response held by {@link ResponseCache}, with the headers worth replaying and its strong ETag.
+ */
+public record CachedResponse(String route, HttpHeaders headers, byte[] body, String etag, long expiresAt) {
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
@@ -0,0 +1,95 @@
+package com.onified.gateway.cache;
+
+import com.onified.gateway.config.GatewayCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * In-memory LRU store for {@link ResponseCacheWebFilter}, bounded by {@code gateway.cache.max-entries} and
+ * {@code gateway.cache.max-total-bytes}. Expired entries are dropped when read or evicted. Size is published under
+ * {@code gateway.cache.entries} and {@code gateway.cache.bytes}.
+ */
+@Component
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes; // guarded by this
+
+    public ResponseCache(GatewayCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.getMaxEntries();
+        this.maxTotalBytes = properties.getMaxTotalBytes();
+        Gauge.builder("gateway.cache.entries", this, ResponseCache::size).register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", this, ResponseCache::totalBytes).register(meterRegistry);
+    }
+
+    // Live entry for the key, or null
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse response = entries.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.isExpired(now)) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        remove(key);
+        entries.put(key, response);
+        totalBytes += response.body().length;
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxTotalBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+        }
+    }
+
+    // Drops every entry cached for the route pattern
+    public synchronized int purgeRoute(String route) {
+        return purgeIf(response -> response.route().equals(route), null);
+    }
+
+    // Drops entries whose key path starts with pathPrefix, or everything if pathPrefix is null
+    public synchronized int purge(String pathPrefix) {
+        return purgeIf(response -> true, pathPrefix);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private int purgeIf(Predicate<CachedResponse> condition, String pathPrefix) {
+        int purged = 0;
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (condition.test(entry.getValue()) && (pathPrefix == null || entry.getKey().startsWith(pathPrefix))) {
+                totalBytes -= entry.getValue().body().length;
+                iterator.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    private void remove(String key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= previous.body().length;
+        }
+    }
+}
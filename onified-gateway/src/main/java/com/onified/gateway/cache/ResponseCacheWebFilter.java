@@ -0,0 +1,263 @@
+package com.onified.gateway.cache;
+
+import com.onified.gateway.config.GatewayCacheProperties;
+import com.onified.gateway.ratelimit.RateLimitWebFilter;
+import com.onified.gateway.security.JwtValidationWebFilter;
+import com.onified.gateway.security.VerifiedClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Serves GET requests on the routes listed under {@code gateway.cache.routes} from {@link ResponseCache}.
+ * <p>
+ * Entries are keyed by path, sorted query and the route's {@code vary-by} dimensions (tenant, user, roles from the
+ * verified token), and live for the route's TTL. Every response served through a cached route carries a strong
+ * ETag and {@code Cache-Control: private, no-cache}, so clients revalidate and get a 304 without a body when
+ * {@code If-None-Match} matches, whether the response came from the cache or the backend. A successful write
+ * (POST, PUT, PATCH, DELETE) through a cached route drops that route's entries on this instance; other changes
+ * need the purge endpoint. Lookups are counted under {@code gateway.cache.requests}.
+ */
+@Component
+public class ResponseCacheWebFilter implements WebFilter, Ordered {
+
+    // After token validation, so cached responses are never served to requests without a valid token
+    public static final int ORDER = JwtValidationWebFilter.ORDER + 20;
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Per-response or per-connection headers that must not be replayed; CORS and rate limit headers are added
+    // per request upstream
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "keep-alive",
+            HttpHeaders.SET_COOKIE, HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.PRAGMA,
+            HttpHeaders.ETAG, HttpHeaders.DATE, CACHE_STATUS_HEADER, RateLimitWebFilter.LIMIT_HEADER,
+            RateLimitWebFilter.REMAINING_HEADER, RateLimitWebFilter.RESET_HEADER);
+    private static final Set<HttpMethod> WRITES = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final String CLIENT_CACHE_CONTROL = "private, no-cache";
+    private static final String METRIC = "gateway.cache.requests";
+
+    private final ResponseCache cache;
+    private final boolean enabled;
+    private final int maxEntryBytes;
+    private final List<CachedRoute> routes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public ResponseCacheWebFilter(ResponseCache cache, GatewayCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.enabled = properties.isEnabled();
+        this.maxEntryBytes = properties.getMaxEntryBytes();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CachedRoute(route.getPattern(), PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        route.getTtlSeconds() * 1000, route.getVaryBy()))
+                .toList();
+        this.hits = Counter.builder(METRIC).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC).tag("result", "miss").register(meterRegistry);
+        this.notModified = Counter.builder(METRIC).tag("result", "not_modified").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        CachedRoute route = match(request.getPath().pathWithinApplication());
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        if (WRITES.contains(request.getMethod())) {
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    cache.purgeRoute(route.source());
+                }
+            });
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(route, exchange);
+        CachedResponse cached = cache.get(key, System.currentTimeMillis());
+        if (cached != null) {
+            hits.increment();
+            return serve(exchange, cached);
+        }
+        misses.increment();
+        return chain.filter(exchange.mutate().response(new CachingResponse(exchange, route, key)).build());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        applyValidators(headers, cached.etag());
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private CachedRoute match(PathContainer path) {
+        for (CachedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Path first, so the purge endpoint can drop entries by path prefix
+    private static String key(CachedRoute route, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        StringBuilder key = new StringBuilder(request.getPath().pathWithinApplication().value())
+                .append('?').append(new TreeMap<>(request.getQueryParams()));
+        VerifiedClaims claims = exchange.getAttribute(VerifiedClaims.ATTRIBUTE);
+        for (GatewayCacheProperties.Vary vary : route.varyBy()) {
+            key.append('|');
+            switch (vary) {
+                // Only verified claims: a client-chosen header must never select another tenant's entries
+                case TENANT -> key.append(claims != null && claims.tenantId() != null ? claims.tenantId() : "");
+                case USER -> key.append(claims != null ? claims.subject() : "");
+                case ROLES -> key.append(claims != null ? claims.roles().stream().sorted().toList() : "");
+            }
+        }
+        return key.toString();
+    }
+
+    private static void applyValidators(HttpHeaders headers, String etag) {
+        headers.setETag(etag);
+        headers.setCacheControl(CLIENT_CACHE_CONTROL);
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        for (String tag : request.getHeaders().getIfNoneMatch()) {
+            String candidate = tag.startsWith("W/") ? tag.substring(2) : tag;
+            if (candidate.equals(etag) || candidate.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isStreaming(MediaType contentType) {
+        return contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+
+    private static HttpHeaders replayableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!lower.startsWith("access-control-") && UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return copy;
+    }
+
+    // Buffers a cacheable backend response, stores it, and answers it with validators (or 304)
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final CachedRoute route;
+        private final String key;
+
+        CachingResponse(ServerWebExchange exchange, CachedRoute route, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.route = route;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            HttpHeaders headers = getHeaders();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || headers.containsKey(HttpHeaders.SET_COOKIE) || isStreaming(headers.getContentType())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body))
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        String etag = etag(bytes);
+                        if (bytes.length <= maxEntryBytes) {
+                            cache.put(key, new CachedResponse(route.source(), replayableHeaders(headers), bytes, etag,
+                                    System.currentTimeMillis() + route.ttlMillis()));
+                        }
+                        headers.set(CACHE_STATUS_HEADER, "MISS");
+                        applyValidators(headers, etag);
+                        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                        if (matchesIfNoneMatch(exchange.getRequest(), etag)) {
+                            notModified.increment();
+                            headers.remove(HttpHeaders.CONTENT_LENGTH);
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            return setComplete();
+                        }
+                        headers.setContentLength(bytes.length);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    private record CachedRoute(String source, PathPattern pattern, long ttlMillis, List<GatewayCacheProperties.Vary> varyBy) {
+    }
+}
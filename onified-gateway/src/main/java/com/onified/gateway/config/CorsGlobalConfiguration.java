@@ -1,7 +1,9 @@
 package com.onified.gateway.config;
 
+import com.onified.gateway.ratelimit.RateLimitWebFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -15,6 +17,11 @@ public class CorsGlobalConfiguration {
         corsConfig.addAllowedMethod("*");
         corsConfig.addAllowedHeader("*");
         corsConfig.setAllowCredentials(true);
+        // Lets the web app back off when it is being rate limited
+        corsConfig.addExposedHeader(RateLimitWebFilter.LIMIT_HEADER);
+        corsConfig.addExposedHeader(RateLimitWebFilter.REMAINING_HEADER);
+        corsConfig.addExposedHeader(RateLimitWebFilter.RESET_HEADER);
+        corsConfig.addExposedHeader(HttpHeaders.RETRY_AFTER);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", corsConfig);
@@ -0,0 +1,34 @@
+package com.onified.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.auth")
+@Data
+public class GatewayAuthProperties {
+
+    private boolean enabled = true;
+    private String issuerUri;
+    private long jwksTtlSeconds = 600;
+    private long jwksMinRefreshSeconds = 30; // rate limit for refetches triggered by unknown key ids
+    private long leewaySeconds = 30;
+    private String tenantClaim = "tenant_id";
+    // Reachable without a token; an invalid, expired or revoked token is not rejected there, the request is just
+    // forwarded without claims headers
+    private List<String> publicPaths = new ArrayList<>();
+    private String internalSigningSecret; // HMAC key for the forwarded claims headers, shared with downstream services
+    private Revocation revocation = new Revocation();
+
+    // Pull of the Authentication Service's revocation filter
+    @Data
+    public static class Revocation {
+        private boolean enabled = true;
+        private String url; // base of /filter and /check
+        private long pollIntervalMs = 5000;
+    }
+}
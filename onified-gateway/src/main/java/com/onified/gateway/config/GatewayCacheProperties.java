@@ -0,0 +1,33 @@
+package com.onified.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.cache")
+@Data
+public class GatewayCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 10000;
+    private int maxEntryBytes = 256 * 1024; // larger responses are passed through uncached
+    private long maxTotalBytes = 64L * 1024 * 1024;
+    private String purgeRole = "PLATFORM.Management.Admin";
+    private List<Route> routes = new ArrayList<>();
+
+    // GET responses under pattern are cached for ttlSeconds, separately per value of each varyBy dimension
+    @Data
+    public static class Route {
+        private String pattern;
+        private long ttlSeconds = 60;
+        private List<Vary> varyBy = new ArrayList<>(List.of(Vary.TENANT, Vary.USER));
+    }
+
+    public enum Vary {
+        TENANT, USER, ROLES
+    }
+}
@@ -0,0 +1,45 @@
+package com.onified.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+@Data
+public class GatewayRateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxBuckets = 100000; // beyond this, requests for new keys are rejected until idle buckets are dropped
+    private long idleTimeoutSeconds = 600; // buckets unused this long are dropped; they would be full again anyway
+    // Proxies in front of the gateway that append to X-Forwarded-For; the client IP is the entry appended by the
+    // outermost one. 0: use the socket address
+    private int trustedProxyCount = 0;
+    private List<Route> routes = new ArrayList<>();
+    private Cluster cluster = new Cluster();
+
+    // Requests under pattern are limited per tenant and per user (client IP without a token); first match wins
+    @Data
+    public static class Route {
+        private String pattern;
+        private Limit tenant; // null: no tenant limit on this route
+        private Limit user; // null: no user limit on this route
+    }
+
+    @Data
+    public static class Limit {
+        private long burst;
+        private double refillPerSecond;
+    }
+
+    // Splits the limits between the gateway instances registered in Eureka, in proportion to their weights
+    @Data
+    public static class Cluster {
+        private boolean enabled = false;
+        private int weight = 1;
+        private long refreshIntervalMs = 15000;
+    }
+}
@@ -0,0 +1,49 @@
+package com.onified.gateway.controller;
+
+import com.onified.gateway.cache.ResponseCache;
+import com.onified.gateway.config.GatewayCacheProperties;
+import com.onified.gateway.security.VerifiedClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Purges this gateway instance's response cache. Requires a token with {@code gateway.cache.purge-role}.
+ */
+@RestController
+@RequestMapping("/gateway/cache")
+@RequiredArgsConstructor
+public class GatewayCacheController {
+
+    private final ResponseCache responseCache;
+    private final GatewayCacheProperties cacheProperties;
+
+    /**
+     * Drops cached responses whose path starts with {@code pathPrefix} (as requested through the gateway, e.g.
+     * {@code /api/config/applications}), or all of them without it.
+     */
+    @DeleteMapping
+    public Mono<ResponseEntity<Map<String, Object>>> purge(@RequestParam(required = false) String pathPrefix,
+                                                           ServerWebExchange exchange) {
+        VerifiedClaims claims = exchange.getAttribute(VerifiedClaims.ATTRIBUTE);
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", System.currentTimeMillis());
+        if (claims == null || !claims.roles().contains(cacheProperties.getPurgeRole())) {
+            response.put("status", "FORBIDDEN");
+            response.put("message", "Purging the gateway cache requires role " + cacheProperties.getPurgeRole());
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(response));
+        }
+        response.put("status", "SUCCESS");
+        response.put("purged", responseCache.purge(pathPrefix));
+        return Mono.just(ResponseEntity.ok(response));
+    }
+}
@@ -0,0 +1,101 @@
+package com.onified.gateway.ratelimit;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.onified.gateway.config.GatewayRateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * This instance's share of the configured rate limits when {@code gateway.rate-limit.cluster.enabled}.
+ * <p>
+ * Each gateway instance publishes its weight in its Eureka metadata under {@link #METADATA_KEY} and periodically
+ * reads the weights of its registered peers, so the limits apply to the cluster as a whole rather than to every
+ * instance. Peers are only as current as the Eureka registry fetch, so after a scale-out the cluster briefly admits
+ * more than the limit, and after an instance dies, less. Without Eureka, or when disabled, the share is 1.
+ * The share is exposed as {@code gateway.ratelimit.quota.share}.
+ */
+@Component
+@Slf4j
+public class RateLimitQuotaShare {
+
+    public static final String METADATA_KEY = "rate-limit-weight";
+
+    private final boolean enabled;
+    private final int weight;
+    private final String serviceId;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    private volatile double share = 1.0;
+
+    public RateLimitQuotaShare(GatewayRateLimitProperties properties, MeterRegistry meterRegistry,
+                               @Value("${spring.application.name}") String serviceId,
+                               ObjectProvider<DiscoveryClient> discoveryClient,
+                               ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.enabled = properties.getCluster().isEnabled();
+        this.weight = Math.max(1, properties.getCluster().getWeight());
+        this.serviceId = serviceId;
+        this.discoveryClient = discoveryClient;
+        this.applicationInfoManager = applicationInfoManager;
+        Gauge.builder("gateway.ratelimit.quota.share", this, RateLimitQuotaShare::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void publish() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (enabled && manager != null) {
+            manager.registerAppMetadata(Map.of(METADATA_KEY, Integer.toString(weight)));
+        }
+    }
+
+    public double get() {
+        return share;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limit.cluster.refresh-interval-ms:15000}")
+    public void refresh() {
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (!enabled || client == null || manager == null) {
+            return;
+        }
+        try {
+            String ownId = manager.getInfo().getInstanceId();
+            long total = weight;
+            for (ServiceInstance instance : client.getInstances(serviceId)) {
+                if (!ownId.equals(instance.getInstanceId())) {
+                    total += parseWeight(instance.getMetadata().get(METADATA_KEY));
+                }
+            }
+            double updated = (double) weight / total;
+            if (updated != share) {
+                log.info("Rate limit share of this gateway instance is now {}", updated);
+                share = updated;
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh rate limit share from Eureka: {}", e.getMessage());
+        }
+    }
+
+    // Peers that do not publish a weight do not take part
+    private static int parseWeight(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
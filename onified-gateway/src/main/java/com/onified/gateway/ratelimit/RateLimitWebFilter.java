@@ -0,0 +1,209 @@
+package com.onified.gateway.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onified.gateway.config.GatewayRateLimitProperties;
+import com.onified.gateway.security.JwtValidationWebFilter;
+import com.onified.gateway.security.VerifiedClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket rate limiting of the routes listed under {@code gateway.rate-limit.routes}, in memory and without
+ * shared infrastructure.
+ * <p>
+ * A request to a limited route takes a token from its user's bucket (the token subject, or the client IP without a
+ * valid token, taken from {@code X-Forwarded-For} behind {@code trusted-proxy-count} proxies) and then from its tenant's bucket, each scoped to the route; when either is empty it is answered
+ * with 429 and {@code Retry-After}, and a user token already taken is returned. Responses carry {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and
+ * {@code X-RateLimit-Reset} (seconds until full) of the most constrained bucket. Limits are per instance unless
+ * {@link RateLimitQuotaShare} splits them across the cluster. Decisions are counted under
+ * {@code gateway.ratelimit.requests}.
+ */
+@Component
+public class RateLimitWebFilter implements WebFilter, Ordered {
+
+    // After token validation, which provides the tenant and user; before the response cache, so cache hits count
+    public static final int ORDER = JwtValidationWebFilter.ORDER + 10;
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final String METRIC = "gateway.ratelimit.requests";
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final boolean enabled;
+    private final int trustedProxyCount;
+    private final List<LimitedRoute> routes;
+    private final TokenBucketRegistry buckets;
+    private final RateLimitQuotaShare quotaShare;
+    private final ObjectMapper objectMapper;
+    private final Counter allowed;
+    private final Counter untracked;
+    private final Counter limitedByUser;
+    private final Counter limitedByTenant;
+
+    public RateLimitWebFilter(GatewayRateLimitProperties properties, TokenBucketRegistry buckets,
+                              RateLimitQuotaShare quotaShare, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.trustedProxyCount = properties.getTrustedProxyCount();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new LimitedRoute(route.getPattern(), PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        validate(route.getPattern(), route.getTenant()), validate(route.getPattern(), route.getUser())))
+                .toList();
+        this.buckets = buckets;
+        this.quotaShare = quotaShare;
+        this.objectMapper = objectMapper;
+        this.allowed = Counter.builder(METRIC).tag("result", "allowed").register(meterRegistry);
+        this.untracked = Counter.builder(METRIC).tag("result", "untracked").register(meterRegistry);
+        this.limitedByUser = Counter.builder(METRIC).tag("result", "limited").tag("dimension", "user").register(meterRegistry);
+        this.limitedByTenant = Counter.builder(METRIC).tag("result", "limited").tag("dimension", "tenant").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        LimitedRoute route = match(exchange.getRequest().getPath().pathWithinApplication());
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        VerifiedClaims claims = exchange.getAttribute(VerifiedClaims.ATTRIBUTE);
+        long now = System.nanoTime();
+        double share = quotaShare.get();
+        TokenBucket.Probe tightest = null;
+        String userKey = null;
+        if (route.user() != null) {
+            String user = claims != null ? "sub:" + claims.subject() : "ip:" + clientAddress(exchange);
+            userKey = route.source() + "|" + user;
+            TokenBucket.Probe probe = consume(userKey, route.user(), share, now);
+            if (!probe.allowed()) {
+                limitedByUser.increment();
+                return reject(exchange, probe, "Too many requests, please retry later");
+            }
+            tightest = tighter(tightest, probe);
+        }
+        if (route.tenant() != null && claims != null && claims.tenantId() != null) {
+            TokenBucket.Probe probe = consume(route.source() + "|tenant:" + claims.tenantId(), route.tenant(), share, now);
+            if (!probe.allowed()) {
+                if (userKey != null) {
+                    buckets.refund(userKey, capacity(route.user(), share));
+                }
+                limitedByTenant.increment();
+                return reject(exchange, probe, "Request limit of your organization exceeded, please retry later");
+            }
+            tightest = tighter(tightest, probe);
+        }
+
+        if (tightest == null) {
+            untracked.increment();
+        } else {
+            allowed.increment();
+            applyHeaders(exchange.getResponse().getHeaders(), tightest);
+        }
+        return chain.filter(exchange);
+    }
+
+    private TokenBucket.Probe consume(String key, GatewayRateLimitProperties.Limit limit, double share, long now) {
+        return buckets.tryConsume(key, capacity(limit, share), limit.getRefillPerSecond() * share, now);
+    }
+
+    private static double capacity(GatewayRateLimitProperties.Limit limit, double share) {
+        return Math.max(1, limit.getBurst() * share);
+    }
+
+    private LimitedRoute match(PathContainer path) {
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static TokenBucket.Probe tighter(TokenBucket.Probe current, TokenBucket.Probe candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.remaining() < current.remaining() ? candidate : current;
+    }
+
+    // Each trusted proxy appends the address it saw, so the client is the entry trustedProxyCount from the end;
+    // anything before it was supplied by the client and cannot be trusted
+    private String clientAddress(ServerWebExchange exchange) {
+        if (trustedProxyCount > 0) {
+            List<String> forwardedFor = exchange.getRequest().getHeaders().getOrEmpty(FORWARDED_FOR_HEADER);
+            if (!forwardedFor.isEmpty()) {
+                String[] hops = String.join(",", forwardedFor).split(",");
+                String client = hops[Math.max(0, hops.length - trustedProxyCount)].trim();
+                if (!client.isEmpty()) {
+                    return client;
+                }
+            }
+        }
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address != null && address.getAddress() != null ? address.getAddress().getHostAddress() : "unknown";
+    }
+
+    private static void applyHeaders(HttpHeaders headers, TokenBucket.Probe probe) {
+        headers.set(LIMIT_HEADER, Long.toString((long) probe.capacity()));
+        headers.set(REMAINING_HEADER, Long.toString(probe.remaining()));
+        headers.set(RESET_HEADER, Long.toString(probe.resetSeconds()));
+    }
+
+    private static GatewayRateLimitProperties.Limit validate(String pattern, GatewayRateLimitProperties.Limit limit) {
+        if (limit != null && (limit.getBurst() < 1 || limit.getRefillPerSecond() <= 0)) {
+            throw new IllegalStateException("Rate limit of " + pattern + " needs burst >= 1 and refill-per-second > 0");
+        }
+        return limit;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, TokenBucket.Probe probe, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(probe.retryAfterSeconds()));
+        applyHeaders(response.getHeaders(), probe);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", "TOO_MANY_REQUESTS");
+        body.put("message", message);
+        body.put("timestamp", System.currentTimeMillis());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    private record LimitedRoute(String source, PathPattern pattern, GatewayRateLimitProperties.Limit tenant,
+                                GatewayRateLimitProperties.Limit user) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.onified.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A token bucket updated with compare-and-set, so concurrent requests on the same key never block each other.
+ * Capacity and refill rate are passed per call, which lets the cluster share change without rebuilding buckets.
+ */
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+
+    TokenBucket(double capacity, long nowNanos) {
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    Probe tryConsume(double capacity, double refillPerSecond, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double elapsedSeconds = Math.max(0, nowNanos - current.updatedAt()) / 1e9;
+            double tokens = Math.min(capacity, current.tokens() + elapsedSeconds * refillPerSecond);
+            if (tokens < 1) {
+                // Nothing to write: the next call recomputes the same refill from the unchanged state
+                return new Probe(false, tokens, capacity, refillPerSecond);
+            }
+            State next = new State(tokens - 1, Math.max(nowNanos, current.updatedAt()));
+            if (state.compareAndSet(current, next)) {
+                return new Probe(true, next.tokens(), capacity, refillPerSecond);
+            }
+        }
+    }
+
+    // Adds back one token, without refilling or moving the update time
+    void refund(double capacity) {
+        while (true) {
+            State current = state.get();
+            State next = new State(Math.min(capacity, current.tokens() + 1), current.updatedAt());
+            if (state.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    long lastUpdatedNanos() {
+        return state.get().updatedAt();
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+
+    record Probe(boolean allowed, double tokens, double capacity, double refillPerSecond) {
+
+        long remaining() {
+            return (long) Math.floor(tokens);
+        }
+
+        // Seconds until a request would be admitted again
+        long retryAfterSeconds() {
+            return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerSecond));
+        }
+
+        // Seconds until the bucket is full again
+        long resetSeconds() {
+            return (long) Math.ceil((capacity - tokens) / refillPerSecond);
+        }
+    }
+}
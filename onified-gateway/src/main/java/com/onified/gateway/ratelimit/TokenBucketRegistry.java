@@ -0,0 +1,85 @@
+package com.onified.gateway.ratelimit;
+
+import com.onified.gateway.config.GatewayRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@link TokenBucket}s of this gateway instance by key. Buckets idle for {@code gateway.rate-limit.idle-timeout-seconds}
+ * are dropped (they would have refilled completely), and at most {@code max-buckets} are kept so that a flood of
+ * distinct clients cannot exhaust memory. When the registry is full, idle buckets are dropped early (at most once a
+ * second); if that frees nothing, requests for new keys are rejected rather than let through unlimited. The bucket
+ * count is exposed as {@code gateway.ratelimit.buckets} and those rejections as {@code gateway.ratelimit.registry.full}.
+ */
+@Component
+@Slf4j
+public class TokenBucketRegistry {
+
+    private static final long FULL_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastFullSweepNanos = new AtomicLong(System.nanoTime() - FULL_SWEEP_INTERVAL_NANOS);
+    private final int maxBuckets;
+    private final long idleTimeoutNanos;
+    private final Counter full;
+
+    public TokenBucketRegistry(GatewayRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.maxBuckets = properties.getMaxBuckets();
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(properties.getIdleTimeoutSeconds());
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+        this.full = Counter.builder("gateway.ratelimit.registry.full").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the bucket for {@code key}, creating a full one if needed. A new key is denied when the
+     * registry is full.
+     */
+    TokenBucket.Probe tryConsume(String key, double capacity, double refillPerSecond, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !sweepWhenFull(nowNanos)) {
+                full.increment();
+                return new TokenBucket.Probe(false, 0, capacity, refillPerSecond);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, nowNanos));
+        }
+        return bucket.tryConsume(capacity, refillPerSecond, nowNanos);
+    }
+
+    /**
+     * Returns a token taken by {@link #tryConsume} for a request that was then rejected on another key.
+     */
+    void refund(String key, double capacity) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(capacity);
+        }
+    }
+
+    // Drops idle buckets ahead of the scheduled sweep; true if that made room
+    private boolean sweepWhenFull(long nowNanos) {
+        long last = lastFullSweepNanos.get();
+        if (nowNanos - last < FULL_SWEEP_INTERVAL_NANOS || !lastFullSweepNanos.compareAndSet(last, nowNanos)) {
+            return false;
+        }
+        evictIdle();
+        return buckets.size() < maxBuckets;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> now - bucket.lastUpdatedNanos() > idleTimeoutNanos);
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.onified.gateway.security;
+
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.onified.gateway.config.GatewayAuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Public signing keys of the Keycloak realm, fetched from its JWKS endpoint without blocking and kept in memory.
+ * <p>
+ * {@link #ensureKey} refetches when the cached set is older than {@code gateway.auth.jwks-ttl-seconds} or lacks the
+ * requested key id (Keycloak rotated its keys). Concurrent callers share one fetch, and fetches for unknown key ids
+ * are rate limited by {@code gateway.auth.jwks-min-refresh-seconds}. If a fetch fails, the previous keys stay in use.
+ * As an {@link RSAKeyProvider} it only reads the cache, so verification never waits on the network.
+ */
+@Component
+@Slf4j
+public class JwksKeyCache implements RSAKeyProvider {
+
+    private final WebClient webClient;
+    private final String jwksUrl;
+    private final long ttlMillis;
+    private final long minRefreshMillis;
+    private final AtomicReference<Mono<Void>> inFlight = new AtomicReference<>();
+
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+    private volatile long fetchedAt;
+    private volatile long lastAttemptAt;
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder, GatewayAuthProperties properties) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUrl = properties.getIssuerUri() + "/protocol/openid-connect/certs";
+        this.ttlMillis = properties.getJwksTtlSeconds() * 1000;
+        this.minRefreshMillis = properties.getJwksMinRefreshSeconds() * 1000;
+    }
+
+    // Completes once the key is cached, or the cache could not be refreshed
+    public Mono<Void> ensureKey(String keyId) {
+        long now = System.currentTimeMillis();
+        boolean known = keyId != null && keys.containsKey(keyId);
+        if (known && now - fetchedAt < ttlMillis) {
+            return Mono.empty();
+        }
+        if (now - lastAttemptAt < minRefreshMillis) {
+            return Mono.empty();
+        }
+        Mono<Void> fetch = inFlight.get();
+        if (fetch == null) {
+            Mono<Void> created = fetch().cache();
+            fetch = inFlight.compareAndSet(null, created) ? created : inFlight.get();
+        }
+        return fetch != null ? fetch : Mono.empty();
+    }
+
+    @Override
+    public RSAPublicKey getPublicKeyById(String keyId) {
+        return keyId != null ? keys.get(keyId) : null;
+    }
+
+    @Override
+    public RSAPrivateKey getPrivateKey() {
+        return null; // verification only
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Void> fetch() {
+        return Mono.defer(() -> {
+                    lastAttemptAt = System.currentTimeMillis();
+                    return webClient.get().uri(jwksUrl).retrieve().bodyToMono(Map.class);
+                })
+                .doOnNext(jwks -> {
+                    Map<String, RSAPublicKey> parsed = parse((Map<String, Object>) jwks);
+                    if (!parsed.isEmpty()) {
+                        keys = Map.copyOf(parsed);
+                        fetchedAt = System.currentTimeMillis();
+                        log.debug("Loaded {} signing keys from {}", parsed.size(), jwksUrl);
+                    }
+                })
+                .doOnError(e -> log.error("Failed to fetch JWKS from {}: {}", jwksUrl, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> inFlight.set(null))
+                .then();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, RSAPublicKey> parse(Map<String, Object> jwks) {
+        Map<String, RSAPublicKey> parsed = new HashMap<>();
+        if (jwks == null || !(jwks.get("keys") instanceof List<?> entries)) {
+            return parsed;
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (Object entry : entries) {
+                Map<String, Object> jwk = (Map<String, Object>) entry;
+                Object use = jwk.get("use");
+                if (!"RSA".equals(jwk.get("kty")) || (use != null && !"sig".equals(use)) || jwk.get("kid") == null) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n")));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")));
+                parsed.put((String) jwk.get("kid"),
+                        (RSAPublicKey) keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            }
+        } catch (Exception e) {
+            log.error("Failed to parse JWKS: {}", e.getMessage());
+        }
+        return parsed;
+    }
+}
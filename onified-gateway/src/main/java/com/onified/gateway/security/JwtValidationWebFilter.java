@@ -0,0 +1,221 @@
+package com.onified.gateway.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onified.gateway.config.GatewayAuthProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies Keycloak access tokens at the edge, before routing, against the realm's cached signing keys
+ * ({@link JwksKeyCache}) and the pulled revocation filter ({@link RevocationFilterClient}).
+ * <p>
+ * Requests to paths other than {@code gateway.auth.public-paths} need a valid bearer token and are answered with
+ * 401 otherwise. For valid tokens the subject, username, realm roles and tenant are forwarded as {@code X-Auth-*}
+ * and {@code X-Tenant-ID} headers, signed by {@link InternalClaimsSigner}, so downstream services need not parse
+ * the token again; client-supplied {@code X-Auth-*} and {@code X-Tenant-ID} headers are always dropped. Public
+ * paths are forwarded even with an invalid token, just without claims headers. Results are counted under
+ * {@code gateway.auth.tokens}.
+ */
+@Component
+@Slf4j
+public class JwtValidationWebFilter implements WebFilter, Ordered {
+
+    // After Spring Security's WebFilterChainProxy (-100), which answers CORS preflights and adds CORS headers
+    public static final int ORDER = -50;
+
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String USERNAME_HEADER = "X-Auth-Username";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String TIMESTAMP_HEADER = "X-Auth-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+
+    // Only ever set from a verified token; whatever the client sent under these names is dropped
+    private static final List<String> INTERNAL_HEADERS =
+            List.of(SUBJECT_HEADER, USERNAME_HEADER, ROLES_HEADER, TIMESTAMP_HEADER, SIGNATURE_HEADER, TENANT_HEADER);
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String METRIC = "gateway.auth.tokens";
+
+    private final boolean enabled;
+    private final String tenantClaim;
+    private final JWTVerifier verifier;
+    private final JwksKeyCache keyCache;
+    private final RevocationFilterClient revocationFilterClient;
+    private final InternalClaimsSigner claimsSigner;
+    private final ObjectMapper objectMapper;
+    private final List<PathPattern> publicPaths;
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter missing;
+    private final Counter revoked;
+
+    public JwtValidationWebFilter(GatewayAuthProperties properties, JwksKeyCache keyCache,
+                                  RevocationFilterClient revocationFilterClient, InternalClaimsSigner claimsSigner,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.tenantClaim = properties.getTenantClaim();
+        this.verifier = JWT.require(Algorithm.RSA256(keyCache))
+                .withIssuer(properties.getIssuerUri())
+                .acceptLeeway(properties.getLeewaySeconds())
+                .build();
+        this.keyCache = keyCache;
+        this.revocationFilterClient = revocationFilterClient;
+        this.claimsSigner = claimsSigner;
+        this.objectMapper = objectMapper;
+        this.publicPaths = properties.getPublicPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.valid = Counter.builder(METRIC).tag("result", "valid").register(meterRegistry);
+        this.invalid = Counter.builder(METRIC).tag("result", "invalid").register(meterRegistry);
+        this.missing = Counter.builder(METRIC).tag("result", "missing").register(meterRegistry);
+        this.revoked = Counter.builder(METRIC).tag("result", "revoked").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        boolean isPublic = isPublic(exchange.getRequest().getPath().pathWithinApplication());
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            if (isPublic) {
+                return chain.filter(forward(exchange, null));
+            }
+            missing.increment();
+            return reject(exchange, "Missing bearer token");
+        }
+
+        DecodedJWT decoded;
+        try {
+            decoded = JWT.decode(header.substring(BEARER_PREFIX.length()));
+        } catch (JWTVerificationException e) {
+            return onInvalid(exchange, chain, isPublic, "Malformed token");
+        }
+        return keyCache.ensureKey(decoded.getKeyId())
+                .then(Mono.fromCallable(() -> new Outcome(toClaims(verifier.verify(decoded)), null)))
+                .onErrorResume(JWTVerificationException.class, e -> Mono.just(new Outcome(null, e.getMessage())))
+                .flatMap(outcome -> {
+                    if (outcome.claims() == null) {
+                        log.debug("Rejected bearer token: {}", outcome.error());
+                        return onInvalid(exchange, chain, isPublic, "Invalid or expired token");
+                    }
+                    VerifiedClaims claims = outcome.claims();
+                    return revocationFilterClient.isRevoked(claims.tokenId(), claims.sessionId())
+                            .flatMap(isRevoked -> {
+                                if (isRevoked) {
+                                    revoked.increment();
+                                    return isPublic ? chain.filter(forward(exchange, null))
+                                            : reject(exchange, "Token has been revoked");
+                                }
+                                valid.increment();
+                                return chain.filter(forward(exchange, claims));
+                            });
+                });
+    }
+
+    private Mono<Void> onInvalid(ServerWebExchange exchange, WebFilterChain chain, boolean isPublic, String message) {
+        invalid.increment();
+        return isPublic ? chain.filter(forward(exchange, null)) : reject(exchange, message);
+    }
+
+    private boolean isPublic(PathContainer path) {
+        for (PathPattern pattern : publicPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private VerifiedClaims toClaims(DecodedJWT jwt) {
+        List<String> roles = List.of();
+        Map<String, Object> realmAccess = jwt.getClaim("realm_access").asMap();
+        if (realmAccess != null && realmAccess.get("roles") instanceof List<?> names) {
+            roles = names.stream().map(String::valueOf).toList();
+        }
+        return new VerifiedClaims(jwt.getSubject(), jwt.getClaim("preferred_username").asString(), roles,
+                jwt.getClaim(tenantClaim).asString(), jwt.getId(), jwt.getClaim("sid").asString());
+    }
+
+    // Replaces any client-supplied claims headers with the verified ones (none if claims is null)
+    private ServerWebExchange forward(ServerWebExchange exchange, VerifiedClaims claims) {
+        ServerHttpRequest request = exchange.getRequest().mutate().headers(headers -> {
+            INTERNAL_HEADERS.forEach(headers::remove);
+            if (claims == null) {
+                return;
+            }
+            long timestamp = Instant.now().getEpochSecond();
+            String roles = String.join(",", claims.roles());
+            headers.set(SUBJECT_HEADER, claims.subject());
+            if (claims.username() != null) {
+                headers.set(USERNAME_HEADER, claims.username());
+            }
+            headers.set(ROLES_HEADER, roles);
+            if (claims.tenantId() != null) {
+                headers.set(TENANT_HEADER, claims.tenantId());
+            }
+            headers.set(TIMESTAMP_HEADER, Long.toString(timestamp));
+            String signature = claimsSigner.sign(claims.subject(), claims.username(), roles, claims.tenantId(), timestamp);
+            if (signature != null) {
+                headers.set(SIGNATURE_HEADER, signature);
+            }
+        }).build();
+        ServerWebExchange forwarded = exchange.mutate().request(request).build();
+        if (claims != null) {
+            forwarded.getAttributes().put(VerifiedClaims.ATTRIBUTE, claims);
+        }
+        return forwarded;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", "UNAUTHORIZED");
+        body.put("message", message);
+        body.put("timestamp", System.currentTimeMillis());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+    }
+
+    private record Outcome(VerifiedClaims claims, String error) {
+    }
+}
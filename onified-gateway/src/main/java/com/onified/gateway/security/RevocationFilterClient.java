@@ -0,0 +1,133 @@
+package com.onified.gateway.security;
+
+import com.onified.gateway.config.GatewayAuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local copy of the Authentication Service's token revocation Bloom filter, pulled every
+ * {@code gateway.auth.revocation.poll-interval-ms} with If-None-Match.
+ * <p>
+ * Tokens the filter has never seen pass after a few memory reads; only filter positives are confirmed with the
+ * exact check endpoint. Until the first pull succeeds, and whenever a confirmation fails, tokens are treated as not
+ * revoked: the gateway degrades to signature and expiry checks rather than refusing all traffic.
+ */
+@Component
+@Slf4j
+public class RevocationFilterClient {
+
+    private static final int BLOB_MAGIC = 0x4F4E4246; // "ONBF"
+    private static final int BLOB_FORMAT = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final WebClient webClient;
+    private final boolean enabled;
+
+    private volatile Filter filter;
+    private volatile String etag;
+
+    public RevocationFilterClient(WebClient.Builder webClientBuilder, GatewayAuthProperties properties) {
+        this.enabled = properties.getRevocation().isEnabled() && properties.getRevocation().getUrl() != null;
+        this.webClient = webClientBuilder.baseUrl(enabled ? properties.getRevocation().getUrl() : "").build();
+    }
+
+    public Mono<Boolean> isRevoked(String tokenId, String sessionId) {
+        Filter current = filter;
+        if (current == null) {
+            return Mono.just(false);
+        }
+        boolean candidate = (tokenId != null && current.mightContain("jti:" + tokenId))
+                || (sessionId != null && current.mightContain("sid:" + sessionId));
+        if (!candidate) {
+            return Mono.just(false);
+        }
+        return webClient.get()
+                .uri(uri -> uri.path("/check")
+                        .queryParamIfPresent("jti", Optional.ofNullable(tokenId))
+                        .queryParamIfPresent("sid", Optional.ofNullable(sessionId))
+                        .build())
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(response -> Boolean.TRUE.equals(response.get("body")))
+                .onErrorResume(e -> {
+                    log.warn("Revocation check failed: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.auth.revocation.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        webClient.get()
+                .uri("/filter")
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return response.releaseBody();
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody().then(Mono.error(new IllegalStateException(
+                                "Revocation filter pull returned " + response.statusCode())));
+                    }
+                    String newEtag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                    return response.bodyToMono(byte[].class).doOnNext(bytes -> {
+                        filter = Filter.parse(bytes);
+                        etag = newEtag;
+                    }).then();
+                })
+                .doOnError(e -> log.warn("Failed to pull revocation filter: {}", e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+
+    // Read-only mirror of the Authentication Service's BloomFilter; see its javadoc for the probe sequence
+    record Filter(long[] words, int numHashes, long numBits) {
+
+        static Filter parse(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != BLOB_MAGIC || buffer.getInt() != BLOB_FORMAT) {
+                throw new IllegalArgumentException("Unsupported revocation filter format");
+            }
+            buffer.getLong(); // version
+            buffer.getLong(); // next rebuild
+            int numHashes = buffer.getInt();
+            long[] words = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(words);
+            return new Filter(words, numHashes, (long) words.length * Long.SIZE);
+        }
+
+        boolean mightContain(String key) {
+            long hash = FNV_OFFSET;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, numBits);
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
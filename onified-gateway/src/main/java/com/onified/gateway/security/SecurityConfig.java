@@ -20,6 +20,7 @@ public class SecurityConfig {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> {}) // Enable CORS with the global bean
+            // Bearer tokens are verified by JwtValidationWebFilter, which runs after this chain
             .authorizeExchange(exchanges -> exchanges
                 .anyExchange().permitAll()
             );
@@ -0,0 +1,13 @@
+package com.onified.gateway.security;
+
+import java.util.List;
+
+/**
+ * Claims of an access token verified by {@link JwtValidationWebFilter}, available to later filters as the
+ * {@link #ATTRIBUTE} exchange attribute.
+ */
+public record VerifiedClaims(String subject, String username, List<String> roles, String tenantId,
+                             String tokenId, String sessionId) {
+
+    public static final String ATTRIBUTE = VerifiedClaims.class.getName();
+}
@@ -0,0 +1,59 @@
+package com.onified.gateway.ratelimit;
+
+import com.onified.gateway.config.GatewayRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRegistryTest {
+
+    private static final long IDLE_TIMEOUT_SECONDS = 600;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsNewKeysWhenFullOfActiveBuckets() {
+        TokenBucketRegistry registry = registry(2);
+        long now = System.nanoTime();
+        assertTrue(registry.tryConsume("a", 10, 1, now).allowed());
+        assertTrue(registry.tryConsume("b", 10, 1, now).allowed());
+
+        assertFalse(registry.tryConsume("c", 10, 1, now).allowed());
+        assertTrue(registry.tryConsume("a", 10, 1, now).allowed());
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.registry.full").counter().count(), 0.0);
+    }
+
+    @Test
+    void dropsIdleBucketsToMakeRoomWhenFull() {
+        TokenBucketRegistry registry = registry(2);
+        long idle = System.nanoTime() - TimeUnit.SECONDS.toNanos(2 * IDLE_TIMEOUT_SECONDS);
+        registry.tryConsume("a", 10, 1, idle);
+        registry.tryConsume("b", 10, 1, idle);
+
+        assertTrue(registry.tryConsume("c", 10, 1, System.nanoTime()).allowed());
+    }
+
+    @Test
+    void refundRestoresATokenOfAnExistingKey() {
+        TokenBucketRegistry registry = registry(10);
+        long now = System.nanoTime();
+        assertTrue(registry.tryConsume("a", 1, 0.001, now).allowed());
+        assertFalse(registry.tryConsume("a", 1, 0.001, now).allowed());
+
+        registry.refund("a", 1);
+        registry.refund("unknown", 1);
+        assertTrue(registry.tryConsume("a", 1, 0.001, now).allowed());
+    }
+
+    private TokenBucketRegistry registry(int maxBuckets) {
+        GatewayRateLimitProperties properties = new GatewayRateLimitProperties();
+        properties.setMaxBuckets(maxBuckets);
+        properties.setIdleTimeoutSeconds(IDLE_TIMEOUT_SECONDS);
+        return new TokenBucketRegistry(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,97 @@
+package com.onified.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void allowsTheBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, START);
+
+        assertTrue(bucket.tryConsume(3, 1, START).allowed());
+        assertTrue(bucket.tryConsume(3, 1, START).allowed());
+        TokenBucket.Probe last = bucket.tryConsume(3, 1, START);
+        assertTrue(last.allowed());
+        assertEquals(0, last.remaining());
+
+        TokenBucket.Probe rejected = bucket.tryConsume(3, 1, START);
+        assertFalse(rejected.allowed());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertEquals(3, rejected.resetSeconds());
+    }
+
+    @Test
+    void refillsWithElapsedTimeUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, START);
+        bucket.tryConsume(2, 2, START);
+        bucket.tryConsume(2, 2, START);
+        assertFalse(bucket.tryConsume(2, 2, START).allowed());
+
+        // Half a second at 2 tokens/s refills one token
+        long later = START + TimeUnit.MILLISECONDS.toNanos(500);
+        assertTrue(bucket.tryConsume(2, 2, later).allowed());
+        assertFalse(bucket.tryConsume(2, 2, later).allowed());
+
+        // A long idle period never refills past capacity
+        long muchLater = later + TimeUnit.HOURS.toNanos(1);
+        TokenBucket.Probe probe = bucket.tryConsume(2, 2, muchLater);
+        assertTrue(probe.allowed());
+        assertEquals(1, probe.remaining());
+    }
+
+    @Test
+    void rejectionDoesNotConsumeTheRefill() {
+        TokenBucket bucket = new TokenBucket(1, START);
+        bucket.tryConsume(1, 1, START);
+        long almost = START + TimeUnit.MILLISECONDS.toNanos(900);
+        assertFalse(bucket.tryConsume(1, 1, almost).allowed());
+        assertFalse(bucket.tryConsume(1, 1, almost).allowed());
+
+        assertTrue(bucket.tryConsume(1, 1, START + TimeUnit.SECONDS.toNanos(1)).allowed());
+    }
+
+    @Test
+    void clockGoingBackwardsDoesNotRefill() {
+        TokenBucket bucket = new TokenBucket(1, START);
+        bucket.tryConsume(1, 1, START);
+
+        assertFalse(bucket.tryConsume(1, 1, START - TimeUnit.SECONDS.toNanos(10)).allowed());
+        assertEquals(START, bucket.lastUpdatedNanos());
+    }
+
+    @Test
+    void smallerCapacityAppliesImmediately() {
+        TokenBucket bucket = new TokenBucket(10, START);
+
+        TokenBucket.Probe probe = bucket.tryConsume(4, 1, START);
+        assertTrue(probe.allowed());
+        assertEquals(3, probe.remaining());
+        assertEquals(4, (long) probe.capacity());
+    }
+
+    @Test
+    void refundReturnsOneTokenUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, START);
+        bucket.tryConsume(2, 1, START);
+        bucket.tryConsume(2, 1, START);
+        assertFalse(bucket.tryConsume(2, 1, START).allowed());
+
+        bucket.refund(2);
+        assertTrue(bucket.tryConsume(2, 1, START).allowed());
+
+        bucket.refund(2);
+        bucket.refund(2);
+        bucket.refund(2);
+        assertTrue(bucket.tryConsume(2, 1, START).allowed());
+        assertTrue(bucket.tryConsume(2, 1, START).allowed());
+        assertFalse(bucket.tryConsume(2, 1, START).allowed());
+    }
+}
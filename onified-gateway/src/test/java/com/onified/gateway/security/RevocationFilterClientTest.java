@@ -0,0 +1,59 @@
+package com.onified.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationFilterClientTest {
+
+    // Written by the Authentication Service's BloomFilter for these keys (see its BloomFilterTest)
+    private static final String[] KEYS = {"jti:token-1", "jti:token-2", "sid:session-1"};
+    private static final long[] WORDS = {0x10140800a0408502L, 0x8089160040a00609L};
+    private static final int NUM_HASHES = 9;
+
+    @Test
+    void parsesTheAuthenticationServiceBlob() {
+        RevocationFilterClient.Filter filter = RevocationFilterClient.Filter.parse(blob(0x4F4E4246, 1, NUM_HASHES, WORDS));
+
+        assertEquals(NUM_HASHES, filter.numHashes());
+        assertEquals(128, filter.numBits());
+        for (String key : KEYS) {
+            assertTrue(filter.mightContain(key), key);
+        }
+        for (String key : new String[]{"jti:token-3", "sid:session-2", "jti:other", "jti:token-10"}) {
+            assertFalse(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        RevocationFilterClient.Filter filter = RevocationFilterClient.Filter.parse(blob(0x4F4E4246, 1, NUM_HASHES, new long[2]));
+
+        for (String key : KEYS) {
+            assertFalse(filter.mightContain(key), key);
+        }
+    }
+
+    @Test
+    void rejectsUnknownMagicOrFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RevocationFilterClient.Filter.parse(blob(0x12345678, 1, NUM_HASHES, WORDS)));
+        assertThrows(IllegalArgumentException.class,
+                () -> RevocationFilterClient.Filter.parse(blob(0x4F4E4246, 2, NUM_HASHES, WORDS)));
+    }
+
+    // magic, format, version, next rebuild, probes, word count, words; big-endian
+    private static byte[] blob(int magic, int format, int numHashes, long[] words) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 8 + 4 + 4 + words.length * 8);
+        buffer.putInt(magic).putInt(format).putLong(42).putLong(System.currentTimeMillis()).putInt(numHashes).putInt(words.length);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,22 @@
+package com.onified.ai.permission_registry.client;
+
+import com.onified.ai.permission_registry.model.ApiResponse;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+/**
+ * Feign Client for calling the User Management Service.
+ */
+@FeignClient(name = "user-management-service", url = "${feign.client.config.user-management-service.url}")
+public interface UserManagementServiceClient {
+
+    /**
+     * Notifies UMS that the given roles changed, so it drops them from its role-existence cache.
+     * Corresponds to POST /api/users/role-cache/invalidate in User Management Service.
+     */
+    @PostMapping("/api/users/role-cache/invalidate")
+    ApiResponse<String> invalidateRoleCache(@RequestBody List<String> roleIds);
+}
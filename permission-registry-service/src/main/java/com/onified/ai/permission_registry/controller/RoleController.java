@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -89,6 +90,20 @@ public class RoleController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Validates a set of role IDs in one call.
+     * POST /api/roles/validate
+     * @param roleIds The role IDs to check.
+     * @return ResponseEntity with ApiResponse containing the subset of IDs that exist and are active.
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<ApiResponse<List<String>>> validateRoles(@RequestBody Set<String> roleIds) {
+        List<String> activeRoleIds = roleService.findActiveRoleIds(roleIds);
+        ApiResponse<List<String>> response = new ApiResponse<>(
+                HttpStatus.OK.value(), "SUCCESS", activeRoleIds);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     /**
      * Updates an existing Role.
      * PUT /api/roles/{roleId}
@@ -2,8 +2,11 @@ package com.onified.ai.permission_registry.repository;
 
 import com.onified.ai.permission_registry.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +15,7 @@ public interface RoleRepository extends JpaRepository<Role, String> {
     List<Role> findByAppCodeAndModuleCode(String appCode, String moduleCode);
     List<Role> findByAppCode(String appCode);
     List<Role> findByRoleFunction(String roleFunction);
+
+    @Query("SELECT r.roleId FROM Role r WHERE r.roleId IN :roleIds AND r.isActive = true")
+    List<String> findActiveRoleIds(@Param("roleIds") Collection<String> roleIds);
 }
@@ -1,6 +1,7 @@
 package com.onified.ai.permission_registry.service;
 
 import com.onified.ai.permission_registry.client.ApplicationConfigServiceClient;
+import com.onified.ai.permission_registry.client.UserManagementServiceClient;
 import com.onified.ai.permission_registry.constants.ErrorMessages;
 import com.onified.ai.permission_registry.entity.Role;
 import com.onified.ai.permission_registry.model.ApiResponse;
@@ -8,6 +9,7 @@ import com.onified.ai.permission_registry.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Pattern;
@@ -18,6 +20,7 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final ApplicationConfigServiceClient appConfigServiceClient;
     private final KeycloakSyncService keycloakSyncService;
+    private final UserManagementServiceClient userManagementServiceClient;
 
     // Updated Regex for Role naming convention: {APP}.{MODULE}.{ROLE_FUNCTION}
     // Now allows alphanumeric characters and underscores for MODULE and ROLE_FUNCTION.
@@ -26,10 +29,12 @@ public class RoleService {
     @Autowired
     public RoleService(RoleRepository roleRepository, 
                       ApplicationConfigServiceClient appConfigServiceClient,
-                      KeycloakSyncService keycloakSyncService) {
+                      KeycloakSyncService keycloakSyncService,
+                      UserManagementServiceClient userManagementServiceClient) {
         this.roleRepository = roleRepository;
         this.appConfigServiceClient = appConfigServiceClient;
         this.keycloakSyncService = keycloakSyncService;
+        this.userManagementServiceClient = userManagementServiceClient;
     }
 
     public Role createRole(Role role) {
@@ -70,6 +75,16 @@ public class RoleService {
         return roleRepository.findAll();
     }
 
+    /**
+     * Returns the IDs from the given set that exist and are active, in a single query.
+     */
+    public List<String> findActiveRoleIds(Collection<String> roleIds) {
+        if (roleIds == null || roleIds.isEmpty()) {
+            return List.of();
+        }
+        return roleRepository.findActiveRoleIds(roleIds);
+    }
+
     public Role updateRole(String roleId, Role updatedRole) {
         return roleRepository.findById(roleId).map(existingRole -> {
             if (!Objects.equals(existingRole.getAppCode(), updatedRole.getAppCode()) ||
@@ -95,7 +110,8 @@ public class RoleService {
             } catch (Exception e) {
                 System.err.println("Warning: Failed to sync role update to Keycloak: " + e.getMessage());
             }
-            
+
+            notifyRoleChanged(roleId);
             return savedRole;
         }).orElse(null);
     }
@@ -120,10 +136,22 @@ public class RoleService {
         } catch (Exception e) {
             System.err.println("Warning: Failed to delete role from Keycloak: " + e.getMessage());
         }
-        
+
+        notifyRoleChanged(roleId);
         return true;
     }
 
+    /**
+     * Tells UMS to drop the role from its role-existence cache (non-blocking, the cache TTL covers missed events).
+     */
+    private void notifyRoleChanged(String roleId) {
+        try {
+            userManagementServiceClient.invalidateRoleCache(List.of(roleId));
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to notify User Management Service of role change: " + e.getMessage());
+        }
+    }
+
     private boolean validateRoleNamingConvention(String roleId) {
         return ROLE_NAMING_PATTERN.matcher(roleId).matches();
     }
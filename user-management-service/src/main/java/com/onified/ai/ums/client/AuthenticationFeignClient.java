@@ -1,17 +1,20 @@
 package com.onified.ai.ums.client;
 
+import com.onified.ai.ums.dto.BatchUserDeletionRequest;
+import com.onified.ai.ums.dto.BatchUserDeletionResponse;
 import com.onified.ai.ums.model.ApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "authentication-service", url = "${feign.client.config.authentication-service.url}")
+@FeignClient(name = "authentication-service", url = "${feign.client.config.authentication-service.url}",
+        configuration = InternalCallFeignConfig.class)
 public interface AuthenticationFeignClient {
 
     /**
-     * Delete a user from Keycloak
-     * This calls the authentication service to remove the user from Keycloak
+     * Delete several users from Keycloak in one call.
+     * Used by the outbox dispatcher; usernames and ids reported as failed are retried later.
      */
-    @DeleteMapping("/api/auth/keycloak/user/{username}")
-    ApiResponse<String> deleteUserFromKeycloak(@PathVariable("username") String username);
-} 
\ No newline at end of file
+    @PostMapping("/api/internal/keycloak/users/delete")
+    ApiResponse<BatchUserDeletionResponse> deleteUsersFromKeycloak(@RequestBody BatchUserDeletionRequest request);
+}
@@ -0,0 +1,35 @@
+package com.onified.ai.ums.client;
+
+import com.onified.ai.ums.security.GatewayClaimsVerifier;
+import com.onified.ai.ums.security.InternalClaimsSigner;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Instant;
+
+/**
+ * Feign configuration for clients of internal endpoints: every request carries claims headers for this service,
+ * with {@code ums.internal-calls.role}, signed by {@link InternalClaimsSigner}. Deliberately not a
+ * {@code @Configuration}, so it applies only to the clients that name it.
+ */
+public class InternalCallFeignConfig {
+
+    @Bean
+    public RequestInterceptor internalClaimsInterceptor(InternalClaimsSigner signer,
+                                                        @Value("${spring.application.name}") String serviceName,
+                                                        @Value("${ums.internal-calls.role:PLATFORM.Management.Admin}") String role) {
+        return template -> {
+            long timestamp = Instant.now().getEpochSecond();
+            String signature = signer.sign(serviceName, serviceName, role, null, timestamp);
+            if (signature == null) {
+                return;
+            }
+            template.header(GatewayClaimsVerifier.SUBJECT_HEADER, serviceName);
+            template.header(GatewayClaimsVerifier.USERNAME_HEADER, serviceName);
+            template.header(GatewayClaimsVerifier.ROLES_HEADER, role);
+            template.header(GatewayClaimsVerifier.TIMESTAMP_HEADER, Long.toString(timestamp));
+            template.header(GatewayClaimsVerifier.SIGNATURE_HEADER, signature);
+        };
+    }
+}
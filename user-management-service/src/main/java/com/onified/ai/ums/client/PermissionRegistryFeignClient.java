@@ -4,10 +4,21 @@ import com.onified.ai.ums.model.ApiResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "permission-registry-service", url = "${feign.client.config.permission-registry-service.url}")
 public interface PermissionRegistryFeignClient {
 
     @GetMapping("/api/roles/{roleId}")
     ApiResponse<Object> getRoleById(@PathVariable("roleId") String roleId);
-}
\ No newline at end of file
+
+    /**
+     * Returns the subset of the given role IDs that exist and are active.
+     */
+    @PostMapping("/api/roles/validate")
+    ApiResponse<List<String>> validateRoles(@RequestBody Collection<String> roleIds);
+}
@@ -0,0 +1,39 @@
+package com.onified.ai.ums.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    /**
+     * Hashes are stored with an algorithm prefix (e.g. {bcrypt}...), so the algorithm and BCrypt cost can be changed
+     * without invalidating existing hashes. Hashes written before the prefix was introduced are plain BCrypt.
+     * {@link PasswordEncoder#upgradeEncoding(String)} reports hashes that use another algorithm or a lower cost.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${ums.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${ums.password.bcrypt-strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported ums.password.algorithm '" + algorithm + "', expected bcrypt or argon2");
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
+    }
+}
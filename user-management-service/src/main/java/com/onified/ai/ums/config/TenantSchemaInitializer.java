@@ -0,0 +1,38 @@
+package com.onified.ai.ums.config;
+
+import com.onified.ai.ums.security.TenantContext;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds tenant ownership to user_roles, which Hibernate cannot manage because it is an element collection table.
+ * <p>
+ * Runs after Hibernate's schema update and before the web server accepts requests. Idempotent: the column is
+ * added and back-filled from the owning user once, then declared NOT NULL; new rows get the tenant from the
+ * {@code @SQLInsert} on {@code User.roles} or from the set-based writers.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TenantSchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TenantSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("ALTER TABLE user_roles ADD COLUMN IF NOT EXISTS tenant_id varchar(64) " +
+                "DEFAULT '" + TenantContext.DEFAULT_TENANT + "'");
+        jdbcTemplate.update("UPDATE user_roles r SET tenant_id = u.tenant_id FROM users u " +
+                "WHERE u.id = r.user_id AND r.tenant_id IS DISTINCT FROM u.tenant_id");
+        jdbcTemplate.execute("ALTER TABLE user_roles ALTER COLUMN tenant_id SET NOT NULL");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_roles_tenant_role_user " +
+                "ON user_roles (tenant_id, role_name, user_id)");
+        // Superseded by tenant_role_user_counts, which is rebuilt from user_roles at startup
+        jdbcTemplate.execute("DROP TABLE IF EXISTS role_user_counts");
+    }
+}
@@ -13,6 +13,30 @@ public final class ErrorConstants {
     public static final String DUPLICATE_EMAIL = "Email '%s' already registered.";
     public static final String ROLE_NOT_FOUND_FOR_USER = "Role '%s' not found for user ID '%s'.";
     public static final String ATTRIBUTE_NOT_FOUND_FOR_USER = "Attribute '%s' not found for user ID '%s'.";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor '%s'.";
+    public static final String INVALID_PAGE_LIMIT = "Page limit must be between 1 and %d.";
+    public static final String INVALID_TYPEAHEAD_QUERY = "Search text must be between 1 and %d characters.";
+    public static final String ATTRIBUTE_FILTER_LIMIT_EXCEEDED = "Attribute search supports at most %d filters with at most %d values each.";
+
+    // Partial update errors
+    public static final String PATCH_FIELD_NOT_SUPPORTED = "Field '%s' cannot be patched.";
+    public static final String PATCH_FIELD_NOT_REMOVABLE = "Field '%s' cannot be removed.";
+    public static final String PATCH_BODY_INVALID = "Patch document must be a JSON object: %s";
+    public static final String PATCH_ATTRIBUTES_INVALID = "Patch member 'attributes' must be an object of string values or null.";
+    public static final String ATTRIBUTE_UPSERT_TOO_MANY = "Attribute upserts accept at most %d entries per request.";
+
+    // Bulk role operation errors
+    public static final String BULK_ROLE_TARGET_REQUIRED = "Bulk role operations require userIds or at least one filter field.";
+    public static final String BULK_ROLE_TOO_MANY_USERS = "Bulk role operations accept at most %d user IDs per request; use a filter instead.";
+    public static final String BULK_ROLE_REPLACEMENT_REQUIRED = "Role replacement requires a replacementRoleId different from roleId.";
+
+    // Bulk import errors
+    public static final String IMPORT_JOB_NOT_FOUND = "Import job with ID '%s' not found.";
+    public static final String IMPORT_JOB_FORMAT_MISMATCH = "Import job '%s' was started as %s and cannot be resumed as %s.";
+    public static final String IMPORT_JOB_ALREADY_COMPLETED = "Import job '%s' has already completed.";
+    public static final String IMPORT_UNSUPPORTED_CONTENT_TYPE = "Unsupported import content type '%s'. Use text/csv or application/x-ndjson.";
+    public static final String IMPORT_CSV_HEADER_MISSING = "CSV import requires a header row with at least username, password and email columns.";
+    public static final String IMPORT_RECORD_INVALID = "Record %d: %s";
 
     // Validation errors (for DTOs)
     public static final String USERNAME_NOT_BLANK = "Username cannot be empty";
@@ -26,6 +50,13 @@ public final class ErrorConstants {
     public static final String ROLE_NAME_NOT_BLANK = "Role name cannot be empty";
     public static final String ATTRIBUTE_NAME_NOT_BLANK = "Attribute name cannot be empty";
     public static final String ATTRIBUTE_VALUE_NOT_BLANK = "Attribute value cannot be empty";
+    public static final String ATTRIBUTE_FILTERS_NOT_EMPTY = "At least one attribute filter is required";
+    public static final String ATTRIBUTES_NOT_EMPTY = "At least one attribute is required";
+    public static final String USER_ID_NOT_NULL = "User ID cannot be empty";
+    public static final String KEYCLOAK_USER_ID_NOT_BLANK = "Keycloak user ID cannot be empty";
+
+    // Password hashing errors
+    public static final String PASSWORD_HASHING_BUSY = "Password hashing capacity exhausted, please retry shortly.";
 
     // General error messages
     public static final String VALIDATION_FAILED = "Validation failed: ";
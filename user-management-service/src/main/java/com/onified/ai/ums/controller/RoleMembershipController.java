@@ -0,0 +1,77 @@
+package com.onified.ai.ums.controller;
+
+import com.onified.ai.ums.dto.MessageConstants;
+import com.onified.ai.ums.dto.RoleUserCountResponse;
+import com.onified.ai.ums.dto.UserPageResponse;
+import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.service.RoleMembershipService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/roles")
+@RequiredArgsConstructor
+public class RoleMembershipController {
+
+    private final RoleMembershipService roleMembershipService;
+
+    /**
+     * Users holding the role, ordered by user id and paginated with the returned cursor.
+     */
+    @GetMapping("/{roleId}/users")
+    public ResponseEntity<ApiResponse<UserPageResponse>> getUsersByRole(@PathVariable String roleId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit) {
+        UserPageResponse page = roleMembershipService.findUsersByRole(roleId, cursor, limit);
+        ApiResponse<UserPageResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                page
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Number of the tenant's users per role, for every role held by at least one of them.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<ApiResponse<List<RoleUserCountResponse>>> getRoleCounts() {
+        ApiResponse<List<RoleUserCountResponse>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                roleMembershipService.getCounts()
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Number of the tenant's users holding the role, e.g. for impact checks before changing or deleting it.
+     */
+    @GetMapping("/{roleId}/count")
+    public ResponseEntity<ApiResponse<RoleUserCountResponse>> getRoleCount(@PathVariable String roleId) {
+        ApiResponse<RoleUserCountResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                roleMembershipService.getCount(roleId)
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Recomputes all counts from user_roles.
+     */
+    @PostMapping("/counts/rebuild")
+    public ResponseEntity<ApiResponse<String>> rebuildRoleCounts() {
+        roleMembershipService.rebuildCounts();
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                "Role user counts rebuilt"
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,37 @@
+package com.onified.ai.ums.controller;
+
+import com.onified.ai.ums.dto.MessageConstants;
+import com.onified.ai.ums.dto.UserChangeFeedResponse;
+import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.service.UserChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/users/changes")
+@RequiredArgsConstructor
+public class UserChangeFeedController {
+
+    private final UserChangeFeedService userChangeFeedService;
+
+    /**
+     * Ordered user change events after the given cursor (0 for the beginning of the retained feed).
+     * With waitSeconds, an empty read is held open until events arrive or the wait elapses (long-poll).
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ApiResponse<UserChangeFeedResponse>>> getChanges(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer waitSeconds) {
+        return userChangeFeedService.poll(after, limit, waitSeconds)
+                .thenApply(feed -> new ResponseEntity<>(new ApiResponse<>(
+                        HttpStatus.OK.value(),
+                        MessageConstants.STATUS_SUCCESS,
+                        feed
+                ), HttpStatus.OK));
+    }
+}
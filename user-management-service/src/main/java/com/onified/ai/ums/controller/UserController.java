@@ -3,14 +3,24 @@ package com.onified.ai.ums.controller;
 import com.onified.ai.ums.dto.*;
 import com.onified.ai.ums.model.ApiResponse;
 import com.onified.ai.ums.model.CustomErrorResponse;
+import com.onified.ai.ums.service.RoleValidationService;
+import com.onified.ai.ums.service.UserAttributeSearchService;
+import com.onified.ai.ums.service.UserPatchService;
+import com.onified.ai.ums.service.UserTypeaheadService;
 import com.onified.ai.ums.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,10 +28,26 @@ import java.util.UUID;
 @RequestMapping("/api/users")
 public class UserController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+
     private final UserService userService;
+    private final RoleValidationService roleValidationService;
+    private final UserAttributeSearchService userAttributeSearchService;
+    private final UserTypeaheadService userTypeaheadService;
+    private final UserPatchService userPatchService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, RoleValidationService roleValidationService,
+                          UserAttributeSearchService userAttributeSearchService,
+                          UserTypeaheadService userTypeaheadService, UserPatchService userPatchService,
+                          ObjectMapper objectMapper) {
         this.userService = userService;
+        this.roleValidationService = roleValidationService;
+        this.userAttributeSearchService = userAttributeSearchService;
+        this.userTypeaheadService = userTypeaheadService;
+        this.userPatchService = userPatchService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/auth-details/{username}")
@@ -35,6 +61,21 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Verifies a user's password against the stored hash. Returns true/false in the body;
+     * outdated hashes are upgraded on a successful match.
+     */
+    @PostMapping("/auth-details/{username}/verify")
+    public ResponseEntity<ApiResponse<Boolean>> verifyPassword(@PathVariable String username, @Valid @RequestBody PasswordVerificationRequest request) {
+        boolean matches = userService.verifyPassword(username, request.getPassword());
+        ApiResponse<Boolean> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                matches
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @PostMapping
     public ResponseEntity<?> createUser(@Valid @RequestBody UserCreateRequest request) {
         try {
@@ -98,9 +139,45 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * JSON Merge Patch: only the members present are changed, and a null member removes the value. An
+     * {@code attributes} object sets or (with null) removes individual attributes. Returns the user's scalar fields.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<UserResponse>> patchUser(@PathVariable UUID id, @RequestBody JsonNode patch) {
+        UserResponse userResponse = userPatchService.patchUser(id, patch);
+        ApiResponse<UserResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                userResponse
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Deletes the user and queues the deletion of its Keycloak account. {@code deleteKeycloakAccount=false} skips
+     * the latter, for the registration saga, which removes only the Keycloak account it created itself.
+     */
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable UUID id) {
-        userService.deleteUser(id);
+    public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable UUID id,
+                                                        @RequestParam(defaultValue = "true") boolean deleteKeycloakAccount) {
+        userService.deleteUser(id, deleteKeycloakAccount);
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                null
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Links the user to its Keycloak account. Called by the registration saga once the account exists, so that
+     * deleting the user later removes exactly that account.
+     */
+    @PutMapping("/{id}/keycloak-account")
+    public ResponseEntity<ApiResponse<Void>> linkKeycloakAccount(@PathVariable UUID id,
+                                                                 @Valid @RequestBody KeycloakAccountLinkRequest request) {
+        userService.linkKeycloakAccount(id, request.getKeycloakUserId());
         ApiResponse<Void> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 MessageConstants.STATUS_SUCCESS,
@@ -180,6 +257,20 @@ public class UserController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * Sets attributes for many users in a single statement, e.g. for HR profile sync. Unchanged values are skipped.
+     */
+    @PostMapping("/attributes/upsert")
+    public ResponseEntity<ApiResponse<AttributeUpsertResponse>> upsertAttributes(@Valid @RequestBody AttributeUpsertRequest request) {
+        AttributeUpsertResponse result = userPatchService.upsertAttributes(request);
+        ApiResponse<AttributeUpsertResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                result
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @DeleteMapping("/{id}/attributes/{attributeName}")
     public ResponseEntity<ApiResponse<UserResponse>> removeUserAttribute(@PathVariable UUID id, @PathVariable String attributeName) {
         UserResponse userResponse = userService.removeUserAttribute(id, attributeName);
@@ -201,4 +292,79 @@ public class UserController {
         );
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<UserPageResponse>> searchUsers(@ModelAttribute UserSearchCriteria criteria) {
+        UserPageResponse page = userService.searchUsers(criteria);
+        ApiResponse<UserPageResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                page
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Ranked prefix and typo-tolerant lookup across username, email, first and last name, for user pickers.
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<UserResponse>>> typeahead(@RequestParam("q") String query,
+                                                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        List<UserResponse> users = userTypeaheadService.search(query, limit);
+        ApiResponse<List<UserResponse>> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                users
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Finds users by attribute values, e.g. department = sales AND region IN (emea, apac).
+     * Results are ordered by user id and paginated with the returned cursor.
+     */
+    @PostMapping("/attribute-search")
+    public ResponseEntity<ApiResponse<UserPageResponse>> searchUsersByAttributes(@Valid @RequestBody AttributeSearchRequest request) {
+        UserPageResponse page = userAttributeSearchService.search(request);
+        ApiResponse<UserPageResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                page
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Exports users matching the criteria as newline-delimited JSON, one user per line.
+     * Rows are written as they are read from the database cursor.
+     */
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public void exportUsers(@ModelAttribute UserSearchCriteria criteria, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        OutputStream out = response.getOutputStream();
+        userService.exportUsers(criteria, user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    /**
+     * Role change event from the Permission Registry Service: evicts the given roles from the
+     * role-existence cache. An empty list clears the whole cache.
+     */
+    @PostMapping("/role-cache/invalidate")
+    public ResponseEntity<ApiResponse<String>> invalidateRoleCache(@RequestBody(required = false) List<String> roleIds) {
+        roleValidationService.invalidate(roleIds);
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                "Role cache invalidated"
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 }
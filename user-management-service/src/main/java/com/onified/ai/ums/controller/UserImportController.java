@@ -0,0 +1,67 @@
+package com.onified.ai.ums.controller;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.MessageConstants;
+import com.onified.ai.ums.dto.UserImportJobResponse;
+import com.onified.ai.ums.entity.UserImportJob;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/users/import")
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    /**
+     * Bulk-imports users from a streamed CSV (text/csv) or NDJSON (application/x-ndjson) request body.
+     * Pass the jobId of a failed import to resume it with the same input.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<UserImportJobResponse>> importUsers(@RequestParam(required = false) UUID jobId,
+                                                                          HttpServletRequest request) throws IOException {
+        UserImportJob.ImportFormat format = resolveFormat(request.getContentType());
+        UserImportJobResponse job = userImportService.importUsers(request.getInputStream(), format, jobId);
+        ApiResponse<UserImportJobResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                job
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<UserImportJobResponse>> getImportJob(@PathVariable UUID jobId) {
+        UserImportJobResponse job = userImportService.getImportJob(jobId);
+        ApiResponse<UserImportJobResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                job
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private UserImportJob.ImportFormat resolveFormat(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                return UserImportJob.ImportFormat.CSV;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return UserImportJob.ImportFormat.NDJSON;
+            }
+        }
+        throw new BadRequestException(String.format(ErrorConstants.IMPORT_UNSUPPORTED_CONTENT_TYPE, contentType));
+    }
+}
@@ -0,0 +1,53 @@
+package com.onified.ai.ums.controller;
+
+import com.onified.ai.ums.dto.BulkRoleOperationRequest;
+import com.onified.ai.ums.dto.BulkRoleOperationResponse;
+import com.onified.ai.ums.dto.MessageConstants;
+import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.service.UserRoleBulkService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/roles/bulk")
+@RequiredArgsConstructor
+public class UserRoleBulkController {
+
+    private final UserRoleBulkService userRoleBulkService;
+
+    /**
+     * Grants roleId to every targeted user that does not already hold it.
+     */
+    @PostMapping("/grant")
+    public ResponseEntity<ApiResponse<BulkRoleOperationResponse>> grant(@Valid @RequestBody BulkRoleOperationRequest request) {
+        return ok(userRoleBulkService.grant(request));
+    }
+
+    /**
+     * Revokes roleId from every targeted user.
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<BulkRoleOperationResponse>> revoke(@Valid @RequestBody BulkRoleOperationRequest request) {
+        return ok(userRoleBulkService.revoke(request));
+    }
+
+    /**
+     * Replaces roleId with replacementRoleId for every targeted user holding roleId.
+     */
+    @PostMapping("/replace")
+    public ResponseEntity<ApiResponse<BulkRoleOperationResponse>> replace(@Valid @RequestBody BulkRoleOperationRequest request) {
+        return ok(userRoleBulkService.replace(request));
+    }
+
+    private static ResponseEntity<ApiResponse<BulkRoleOperationResponse>> ok(BulkRoleOperationResponse result) {
+        ApiResponse<BulkRoleOperationResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                MessageConstants.STATUS_SUCCESS,
+                result
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
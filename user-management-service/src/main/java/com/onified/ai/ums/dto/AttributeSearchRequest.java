@@ -0,0 +1,38 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Attribute-based user search. Filters are combined with AND; the values of a single filter with OR (IN),
+ * e.g. department = 'sales' AND region IN ('emea', 'apac').
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeSearchRequest {
+    @NotEmpty(message = ErrorConstants.ATTRIBUTE_FILTERS_NOT_EMPTY)
+    @Valid
+    private List<AttributeFilter> filters;
+
+    private String cursor; // user id taken from UserPageResponse.nextCursor
+    private Integer limit;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AttributeFilter {
+        @NotBlank(message = ErrorConstants.ATTRIBUTE_NAME_NOT_BLANK)
+        private String name;
+
+        @NotEmpty(message = ErrorConstants.ATTRIBUTE_VALUE_NOT_BLANK)
+        private List<String> values;
+    }
+}
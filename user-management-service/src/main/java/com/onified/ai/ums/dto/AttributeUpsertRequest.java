@@ -0,0 +1,40 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sets attribute values for many users at once. Entries for users outside the caller's tenant are ignored; if the
+ * same user and attribute appear more than once, the last entry wins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeUpsertRequest {
+    @NotEmpty(message = ErrorConstants.ATTRIBUTES_NOT_EMPTY)
+    @Valid
+    private List<AttributeEntry> attributes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AttributeEntry {
+        @NotNull(message = ErrorConstants.USER_ID_NOT_NULL)
+        private UUID userId;
+
+        @NotBlank(message = ErrorConstants.ATTRIBUTE_NAME_NOT_BLANK)
+        private String attributeName;
+
+        @NotBlank(message = ErrorConstants.ATTRIBUTE_VALUE_NOT_BLANK)
+        private String attributeValue;
+    }
+}
@@ -0,0 +1,13 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttributeUpsertResponse {
+    private int received; // distinct (user, attribute) entries in the request
+    private int changed;  // attributes inserted or set to a different value
+}
@@ -0,0 +1,15 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserDeletionRequest {
+    private List<String> usernames; // accounts whose Keycloak id is not known, resolved by username
+    private List<String> userIds; // Keycloak user ids
+}
@@ -0,0 +1,17 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserDeletionResponse {
+    private List<String> deleted = new ArrayList<>();
+    private List<String> notFound = new ArrayList<>();
+    private List<String> failed = new ArrayList<>(); // usernames or user ids as sent; retried by the outbox dispatcher
+}
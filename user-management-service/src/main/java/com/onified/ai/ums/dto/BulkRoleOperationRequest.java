@@ -0,0 +1,28 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Targets a role change at an explicit list of users, at every user matching a filter, or at the intersection of
+ * both. At least one of them must be given; an unrestricted operation on all users is rejected.
+ * Only the filter fields of {@link UserSearchCriteria} are used; sorting and paging fields are ignored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoleOperationRequest {
+    @NotBlank(message = ErrorConstants.ROLE_NAME_NOT_BLANK)
+    private String roleId;
+
+    private String replacementRoleId; // replace only: the role granted in place of roleId
+
+    private List<UUID> userIds;
+    private UserSearchCriteria filter;
+}
@@ -0,0 +1,14 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoleOperationResponse {
+    private String roleId;
+    private long granted; // user_roles rows inserted
+    private long revoked; // user_roles rows deleted
+}
@@ -0,0 +1,17 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeycloakAccountLinkRequest {
+    @NotBlank(message = ErrorConstants.KEYCLOAK_USER_ID_NOT_BLANK)
+    @Size(max = 36)
+    private String keycloakUserId;
+}
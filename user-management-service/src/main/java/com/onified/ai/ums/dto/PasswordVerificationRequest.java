@@ -0,0 +1,15 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordVerificationRequest {
+    @NotBlank(message = ErrorConstants.PASSWORD_NOT_BLANK)
+    private String password;
+}
@@ -0,0 +1,13 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleUserCountResponse {
+    private String roleId;
+    private long userCount;
+}
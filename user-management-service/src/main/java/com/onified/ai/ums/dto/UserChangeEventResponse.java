@@ -0,0 +1,23 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.entity.UserChangeEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeEventResponse {
+    private long id; // feed position of the event
+    private UUID userId;
+    private String tenantId;
+    private String username;
+    private UserChangeEvent.ChangeType changeType;
+    private String detail;
+    private String detailValue;
+    private Instant occurredAt;
+}
@@ -0,0 +1,17 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangeFeedResponse {
+    private List<UserChangeEventResponse> events;
+    private long nextCursor; // pass as 'after' on the next call; unchanged when no events were returned
+    private boolean hasMore;
+    private boolean resyncRequired; // the cursor is older than the retention window; rebuild the replica from /search
+}
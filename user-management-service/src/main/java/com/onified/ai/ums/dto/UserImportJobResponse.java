@@ -0,0 +1,27 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.entity.UserImportJob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportJobResponse {
+    private UUID jobId;
+    private UserImportJob.ImportFormat format;
+    private UserImportJob.ImportStatus status;
+    private long recordsProcessed;
+    private long createdCount;
+    private long skippedCount;
+    private long failedCount;
+    private String lastError;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private List<String> errors; // per-record errors from this run only, capped
+}
@@ -0,0 +1,16 @@
+package com.onified.ai.ums.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+    private List<UserResponse> items;
+    private String nextCursor; // null when there are no more results
+    private boolean hasMore;
+}
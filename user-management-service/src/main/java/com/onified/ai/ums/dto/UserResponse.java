@@ -14,6 +14,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class UserResponse {
     private UUID id;
+    private String tenantId;
     private String username;
     private String email;
     private String firstName;
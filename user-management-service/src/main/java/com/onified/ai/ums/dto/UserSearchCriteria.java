@@ -0,0 +1,52 @@
+package com.onified.ai.ums.dto;
+
+import com.onified.ai.ums.entity.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+/**
+ * Query parameters for user listing and export.
+ * All filters are optional and combined with AND.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCriteria {
+    private User.UserStatus status;
+    private String role;
+    private String emailDomain; // e.g. "onified.ai", matched against the part after '@'
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdFrom; // inclusive
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdTo; // exclusive
+
+    private SortField sortBy = SortField.CREATED_AT;
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    private String cursor; // opaque, taken from UserPageResponse.nextCursor
+    private Integer limit;
+
+    // Sortable columns; the user id is always appended as a tie-breaker for keyset pagination
+    public enum SortField {
+        CREATED_AT("createdAt"),
+        USERNAME("username"),
+        EMAIL("email");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+    }
+}
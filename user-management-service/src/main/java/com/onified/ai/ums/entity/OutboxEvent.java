@@ -0,0 +1,98 @@
+package com.onified.ai.ums.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Side effect on another service, recorded in the same transaction as the change that caused it and delivered
+ * later by a background dispatcher. Delivered events are deleted; events that keep failing end up {@code DEAD}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+public class OutboxEvent extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private EventType eventType;
+
+    @Column(name = "payload", nullable = false)
+    private String payload; // for KEYCLOAK_USER_DELETE: the username
+
+    @Column(name = "keycloak_user_id", length = 36)
+    private String keycloakUserId; // for KEYCLOAK_USER_DELETE: the account to delete, when known
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public OutboxEvent(EventType eventType, String payload) {
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    public OutboxEvent(EventType eventType, String payload, String keycloakUserId) {
+        this(eventType, payload);
+        this.keycloakUserId = keycloakUserId;
+    }
+
+    public enum EventType {
+        KEYCLOAK_USER_DELETE
+    }
+
+    public enum OutboxStatus {
+        PENDING, DEAD
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = Instant.now();
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent that = (OutboxEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
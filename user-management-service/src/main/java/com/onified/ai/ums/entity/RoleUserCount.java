@@ -0,0 +1,34 @@
+package com.onified.ai.ums.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of a tenant's users holding a role, kept in step with user_roles by every write path in the same
+ * transaction, so role dashboards and impact checks never have to count user_roles.
+ */
+@Entity
+@Table(name = "tenant_role_user_counts")
+@IdClass(RoleUserCountId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleUserCount {
+
+    @Id
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Id
+    @Column(name = "role_name", nullable = false)
+    private String roleName;
+
+    @Column(name = "user_count", nullable = false)
+    private long userCount;
+}
@@ -0,0 +1,16 @@
+package com.onified.ai.ums.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data // equals/hashCode over both columns, as required for an @IdClass
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleUserCountId implements Serializable {
+
+    private String tenantId;
+    private String roleName;
+}
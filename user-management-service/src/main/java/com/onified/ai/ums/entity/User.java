@@ -1,8 +1,12 @@
 package com.onified.ai.ums.entity;
 
+import com.onified.ai.ums.security.TenantContext;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLInsert;
+
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
@@ -10,19 +14,34 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@NamedEntityGraph(name = User.GRAPH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
+}, indexes = {
+        // Tenant-leading, so each tenant's listings and pages are range scans over its own rows only
+        @Index(name = "idx_users_tenant_created_at_id", columnList = "tenant_id, created_at, id"), // keyset pagination
+        @Index(name = "idx_users_tenant_username", columnList = "tenant_id, username"),
+        @Index(name = "idx_users_tenant_email", columnList = "tenant_id, email")
 })
 @Data
 @NoArgsConstructor
 public class User extends Auditable {
 
+    // Fetch plan for detail and auth reads. Attributes are deliberately left out of the graph
+    // (joining two collections yields a cartesian product); they are batch-fetched on access.
+    public static final String GRAPH_ROLES = "User.roles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
+    // Owning tenant; existing rows are assigned to the default tenant when the column is added
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64,
+            columnDefinition = "varchar(64) default '" + TenantContext.DEFAULT_TENANT + "'")
+    private String tenantId;
+
     @Column(name = "username", nullable = false, length = 50)
     private String username;
 
@@ -38,16 +57,27 @@ public class User extends Auditable {
     @Column(name = "last_name", length = 100)
     private String lastName;
 
+    // Id of the user's Keycloak account, linked once the registration saga has created it; null for older users
+    @Column(name = "keycloak_user_id", length = 36)
+    private String keycloakUserId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private UserStatus status;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_user_roles_role_user", columnList = "role_name, user_id"))
     @Column(name = "role_name")
+    // user_roles.tenant_id is not part of the mapping (see TenantSchemaInitializer); it is copied from the owner
+    @SQLInsert(sql = "INSERT INTO user_roles (user_id, role_name, tenant_id) " +
+            "SELECT v.user_id, v.role_name, u.tenant_id FROM (VALUES (CAST(? AS uuid), CAST(? AS varchar))) AS v(user_id, role_name) " +
+            "JOIN users u ON u.id = v.user_id")
     private Set<String> roles = new HashSet<>();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private Set<UserAttribute> attributes = new HashSet<>();
 
     // Enum for user status
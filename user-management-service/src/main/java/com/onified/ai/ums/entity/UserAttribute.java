@@ -1,5 +1,6 @@
 package com.onified.ai.ums.entity;
 
+import com.onified.ai.ums.security.TenantContext;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "user_attributes")
+@Table(name = "user_attributes", indexes = {
+        // Inverted index for attribute search: (tenant, name, value) -> user ids, already in user id order
+        @Index(name = "idx_user_attributes_tenant_name_value_user", columnList = "tenant_id, attribute_name, attribute_value, user_id")
+})
 @Data
 @NoArgsConstructor
 public class UserAttribute {
@@ -17,6 +21,11 @@ public class UserAttribute {
     @EmbeddedId
     private UserAttributeId id;
 
+    // Copied from the owning user on insert
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64,
+            columnDefinition = "varchar(64) default '" + TenantContext.DEFAULT_TENANT + "'")
+    private String tenantId;
+
     @Column(name = "attribute_value", nullable = false)
     private String attributeValue;
 
@@ -38,6 +47,9 @@ public class UserAttribute {
 
     @PrePersist
     protected void onCreate() {
+        if (tenantId == null && user != null) {
+            tenantId = user.getTenantId();
+        }
         createdAt = Instant.now();
         updatedAt = Instant.now();
     }
@@ -0,0 +1,73 @@
+package com.onified.ai.ums.entity;
+
+import com.onified.ai.ums.security.TenantContext;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One entry of the append-only user change feed. {@code feedPosition} is the position in the feed: it is null when
+ * the event is appended and assigned by {@code UserChangeSequencer} after commit, in the order events become visible,
+ * so a consumer reading {@code feedPosition > cursor} never misses an event that commits later.
+ */
+@Entity
+@Table(name = "user_change_events", indexes = {
+        @Index(name = "idx_user_change_events_occurred_at", columnList = "occurred_at"),
+        @Index(name = "idx_user_change_events_feed_position", columnList = "feed_position", unique = true)
+})
+@Data
+@NoArgsConstructor
+public class UserChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "feed_position")
+    private Long feedPosition;
+
+    @Column(name = "tenant_id", nullable = false, length = 64,
+            columnDefinition = "varchar(64) default '" + TenantContext.DEFAULT_TENANT + "'")
+    private String tenantId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "username", nullable = false, length = 50)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 30)
+    private ChangeType changeType;
+
+    @Column(name = "detail")
+    private String detail; // role name or attribute name, for role and attribute changes
+
+    @Column(name = "detail_value")
+    private String detailValue; // new attribute value, for ATTRIBUTE_SET
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, ROLE_GRANTED, ROLE_REVOKED, ATTRIBUTE_SET, ATTRIBUTE_REMOVED
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserChangeEvent that = (UserChangeEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
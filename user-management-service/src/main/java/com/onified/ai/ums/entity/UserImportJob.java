@@ -0,0 +1,83 @@
+package com.onified.ai.ums.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk user import. {@code recordsProcessed} only advances together with the
+ * inserts of a committed chunk, so an interrupted import can be resumed by re-sending the same file.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Data
+@NoArgsConstructor
+public class UserImportJob extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false)
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImportStatus status;
+
+    @Column(name = "records_processed", nullable = false)
+    private long recordsProcessed;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount; // duplicates of existing users or of earlier records in the file
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount; // invalid records or unknown roles
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum ImportFormat {
+        CSV, NDJSON
+    }
+
+    public enum ImportStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = Instant.now();
+        if (status == null) {
+            status = ImportStatus.RUNNING;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserImportJob that = (UserImportJob) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
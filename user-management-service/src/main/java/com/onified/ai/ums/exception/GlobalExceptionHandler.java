@@ -34,6 +34,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, status);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<CustomErrorResponse> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                String.valueOf(status.value()),
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<CustomErrorResponse> handleServiceBusyException(ServiceBusyException ex, WebRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        CustomErrorResponse errorResponse = new CustomErrorResponse(
+                String.valueOf(status.value()),
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<CustomErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex, WebRequest request) {
         HttpStatus status = HttpStatus.BAD_REQUEST;
@@ -0,0 +1,7 @@
+package com.onified.ai.ums.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -5,6 +5,7 @@ import com.onified.ai.ums.dto.UserResponse;
 import com.onified.ai.ums.dto.UserUpdateRequest;
 import com.onified.ai.ums.entity.User;
 import com.onified.ai.ums.entity.UserAttribute;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
 
 import java.util.stream.Collectors;
 
@@ -21,6 +22,7 @@ public final class UserMapper {
 
         UserResponse userResponse = new UserResponse();
         userResponse.setId(user.getId());
+        userResponse.setTenantId(user.getTenantId());
         userResponse.setUsername(user.getUsername());
         userResponse.setEmail(user.getEmail());
         userResponse.setFirstName(user.getFirstName());
@@ -43,6 +45,24 @@ public final class UserMapper {
         return userResponse;
     }
 
+    // List views are built from the scalar projection; roles and attributes are left unset
+    public static UserResponse toUserSummaryResponse(UserSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+
+        UserResponse userResponse = new UserResponse();
+        userResponse.setId(view.getId());
+        userResponse.setUsername(view.getUsername());
+        userResponse.setEmail(view.getEmail());
+        userResponse.setFirstName(view.getFirstName());
+        userResponse.setLastName(view.getLastName());
+        userResponse.setStatus(view.getStatus());
+        userResponse.setCreatedAt(view.getCreatedAt());
+        userResponse.setUpdatedAt(view.getUpdatedAt());
+        return userResponse;
+    }
+
     public static UserResponse.UserAttributeResponse toUserAttributeResponse(UserAttribute attribute) {
         if (attribute == null) {
             return null;
@@ -0,0 +1,32 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // Due events, locked FOR UPDATE SKIP LOCKED (timeout -2) so concurrent dispatchers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e " +
+           "WHERE e.eventType = :eventType AND e.status = com.onified.ai.ums.entity.OutboxEvent.OutboxStatus.PENDING " +
+           "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt")
+    List<OutboxEvent> lockDueEvents(@Param("eventType") OutboxEvent.EventType eventType,
+                                    @Param("now") Instant now,
+                                    Pageable pageable);
+
+    long countByStatus(OutboxEvent.OutboxStatus status);
+}
@@ -0,0 +1,88 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.entity.RoleUserCount;
+import com.onified.ai.ums.repository.projection.UserSummaryRow;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Role-to-users lookups served from idx_user_roles_tenant_role_user, and maintenance of the tenant_role_user_counts
+ * table. Counts are kept per tenant and role.
+ */
+@Repository
+public class RoleMembershipRepository {
+
+    private static final String SELECT_USERS_BY_ROLE =
+            "SELECT u.id, u.username, u.email, u.first_name, u.last_name, u.status, u.created_at, u.updated_at " +
+            "FROM user_roles r JOIN users u ON u.id = r.user_id " +
+            "WHERE r.tenant_id = :tenantId AND r.role_name = :role";
+
+    private static final String ADJUST_COUNT_SQL =
+            "INSERT INTO tenant_role_user_counts (tenant_id, role_name, user_count) VALUES (:tenantId, :role, :delta) " +
+            "ON CONFLICT (tenant_id, role_name) DO UPDATE SET user_count = tenant_role_user_counts.user_count + EXCLUDED.user_count";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public RoleMembershipRepository(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    // Keyset page of a role's holders in user id order; pass after = null for the first page
+    public List<UserSummaryView> findUsersByRole(String tenantId, String roleName, UUID after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId)
+                .addValue("role", roleName)
+                .addValue("limit", limit);
+        String sql = SELECT_USERS_BY_ROLE;
+        if (after != null) {
+            sql += " AND r.user_id > :after";
+            params.addValue("after", after);
+        }
+        sql += " ORDER BY r.user_id LIMIT :limit";
+        return namedJdbcTemplate.query(sql, params, (rs, rowNum) -> UserSummaryRow.fromResultSet(rs));
+    }
+
+    // Applied in role name order so concurrent transactions lock count rows in the same order
+    public void adjustCounts(String tenantId, Map<String, Long> deltas) {
+        MapSqlParameterSource[] batch = deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new MapSqlParameterSource("tenantId", tenantId)
+                        .addValue("role", e.getKey())
+                        .addValue("delta", e.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        if (batch.length > 0) {
+            namedJdbcTemplate.batchUpdate(ADJUST_COUNT_SQL, batch);
+        }
+    }
+
+    public List<RoleUserCount> findCounts(String tenantId) {
+        return namedJdbcTemplate.query(
+                "SELECT tenant_id, role_name, user_count FROM tenant_role_user_counts " +
+                "WHERE tenant_id = :tenantId AND user_count > 0 ORDER BY role_name",
+                Map.of("tenantId", tenantId),
+                (rs, rowNum) -> new RoleUserCount(rs.getString("tenant_id"), rs.getString("role_name"), rs.getLong("user_count")));
+    }
+
+    public long findCount(String tenantId, String roleName) {
+        List<Long> counts = namedJdbcTemplate.queryForList(
+                "SELECT user_count FROM tenant_role_user_counts WHERE tenant_id = :tenantId AND role_name = :role",
+                Map.of("tenantId", tenantId, "role", roleName), Long.class);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    // Recomputes every count from user_roles; corrects any drift from writes outside UMS.
+    // Must run in a transaction: the table lock waits out in-flight adjustments and blocks new ones until commit.
+    public void rebuildCounts() {
+        namedJdbcTemplate.update("LOCK TABLE tenant_role_user_counts IN EXCLUSIVE MODE", Map.of());
+        namedJdbcTemplate.update("DELETE FROM tenant_role_user_counts", Map.of());
+        namedJdbcTemplate.update(
+                "INSERT INTO tenant_role_user_counts (tenant_id, role_name, user_count) " +
+                "SELECT tenant_id, role_name, count(*) FROM user_roles GROUP BY tenant_id, role_name", Map.of());
+    }
+}
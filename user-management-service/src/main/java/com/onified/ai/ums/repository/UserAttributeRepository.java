@@ -2,14 +2,45 @@ package com.onified.ai.ums.repository;
 
 import com.onified.ai.ums.entity.UserAttribute;
 import com.onified.ai.ums.entity.UserAttributeId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserAttributeRepository extends JpaRepository<UserAttribute, UserAttributeId> {
-    List<UserAttribute> findByIdUserId(UUID userId);
-    void deleteByIdUserId(UUID userId);
+    Optional<UserAttribute> findByTenantIdAndId(String tenantId, UserAttributeId id);
+    List<UserAttribute> findByTenantIdAndIdUserId(String tenantId, UUID userId);
+    void deleteByTenantIdAndIdUserId(String tenantId, UUID userId);
+
+    // First batch of the posting list for one attribute filter, served from idx_user_attributes_tenant_name_value_user
+    @Query("SELECT a.id.userId FROM UserAttribute a " +
+           "WHERE a.tenantId = :tenantId AND a.id.attributeName = :name AND a.attributeValue IN :values " +
+           "ORDER BY a.id.userId")
+    List<UUID> findUserIdsByAttribute(@Param("tenantId") String tenantId, @Param("name") String name,
+                                      @Param("values") Collection<String> values, Pageable batch);
+
+    // Next batch of the posting list, after the last id of the previous one
+    @Query("SELECT a.id.userId FROM UserAttribute a " +
+           "WHERE a.tenantId = :tenantId AND a.id.attributeName = :name AND a.attributeValue IN :values " +
+           "AND a.id.userId > :after " +
+           "ORDER BY a.id.userId")
+    List<UUID> findUserIdsByAttributeAfter(@Param("tenantId") String tenantId, @Param("name") String name,
+                                           @Param("values") Collection<String> values, @Param("after") UUID after,
+                                           Pageable batch);
+
+    // Those of the candidates (a batch of the driving posting list) that also match this filter
+    @Query("SELECT a.id.userId FROM UserAttribute a " +
+           "WHERE a.tenantId = :tenantId AND a.id.attributeName = :name AND a.attributeValue IN :values " +
+           "AND a.id.userId IN :candidates " +
+           "ORDER BY a.id.userId")
+    List<UUID> findUserIdsByAttributeAmong(@Param("tenantId") String tenantId, @Param("name") String name,
+                                           @Param("values") Collection<String> values,
+                                           @Param("candidates") Collection<UUID> candidates);
 }
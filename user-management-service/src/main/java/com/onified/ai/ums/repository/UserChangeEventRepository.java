@@ -0,0 +1,28 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.entity.UserChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserChangeEventRepository extends JpaRepository<UserChangeEvent, Long> {
+
+    List<UserChangeEvent> findByFeedPositionGreaterThanOrderByFeedPositionAsc(long after, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.feedPosition), 0) FROM UserChangeEvent e")
+    long findMaxPosition();
+
+    @Query("SELECT MIN(e.feedPosition) FROM UserChangeEvent e")
+    Long findMinPosition();
+
+    @Modifying
+    @Query("DELETE FROM UserChangeEvent e WHERE e.occurredAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,11 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.entity.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, UUID> {
+}
@@ -0,0 +1,130 @@
+package com.onified.ai.ums.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Column-level writes for partial updates: an UPDATE that touches only the given users columns, and set-based
+ * attribute upserts and deletes that never load the User aggregate.
+ * <p>
+ * Attribute writes append one ATTRIBUTE_SET or ATTRIBUTE_REMOVED change event per row actually changed, through a
+ * data-modifying CTE; the returned count is that number of rows.
+ * <p>
+ * These statements bypass the persistence context; callers must not rely on User entities loaded earlier in the
+ * same transaction.
+ */
+@Repository
+public class UserPatchRepository {
+
+    // Re-assigning an attribute its current value is not a change: no row is returned and no event is written
+    private static final String UPSERT_ATTRIBUTES_SQL =
+            "WITH input AS (" +
+            "  SELECT v.user_id, v.attribute_name, v.attribute_value, u.tenant_id " +
+            "  FROM unnest(CAST(? AS uuid[]), CAST(? AS varchar[]), CAST(? AS varchar[])) AS v(user_id, attribute_name, attribute_value) " +
+            "  JOIN users u ON u.id = v.user_id AND u.tenant_id = ?" +
+            "), changed AS (" +
+            "  INSERT INTO user_attributes (user_id, attribute_name, attribute_value, tenant_id, created_at, updated_at) " +
+            "  SELECT i.user_id, i.attribute_name, i.attribute_value, i.tenant_id, now(), now() FROM input i " +
+            "  ON CONFLICT (user_id, attribute_name) DO UPDATE " +
+            "  SET attribute_value = EXCLUDED.attribute_value, updated_at = EXCLUDED.updated_at " +
+            "  WHERE user_attributes.attribute_value IS DISTINCT FROM EXCLUDED.attribute_value " +
+            "  RETURNING user_id, attribute_name, attribute_value" +
+            ") " +
+            "INSERT INTO user_change_events (user_id, tenant_id, username, change_type, detail, detail_value, occurred_at) " +
+            "SELECT c.user_id, u.tenant_id, u.username, 'ATTRIBUTE_SET', c.attribute_name, c.attribute_value, now() " +
+            "FROM changed c JOIN users u ON u.id = c.user_id";
+
+    private static final String DELETE_ATTRIBUTES_SQL =
+            "WITH changed AS (" +
+            "  DELETE FROM user_attributes WHERE tenant_id = :tenantId AND user_id = :userId%s " +
+            "  RETURNING user_id, attribute_name" +
+            ") " +
+            "INSERT INTO user_change_events (user_id, tenant_id, username, change_type, detail, occurred_at) " +
+            "SELECT c.user_id, u.tenant_id, u.username, 'ATTRIBUTE_REMOVED', c.attribute_name, now() " +
+            "FROM changed c JOIN users u ON u.id = c.user_id";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserPatchRepository(NamedParameterJdbcTemplate namedJdbcTemplate, JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets the given users columns (column name to value) and updated_at, locking the row.
+     * An empty map only bumps updated_at.
+     *
+     * @return the username before and after the update, or empty if the user does not exist in the tenant
+     */
+    public Optional<String[]> updateColumns(String tenantId, UUID userId, Map<String, Object> columns) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId)
+                .addValue("userId", userId)
+                .addValue("updatedAt", Timestamp.from(Instant.now()));
+        List<String> assignments = new ArrayList<>();
+        columns.forEach((column, value) -> {
+            assignments.add(column + " = :" + column);
+            params.addValue(column, value);
+        });
+        assignments.add("updated_at = :updatedAt");
+        // The self-join exposes the row as it was before this statement
+        String sql = "UPDATE users u SET " + String.join(", ", assignments) + " " +
+                "FROM users old WHERE old.id = u.id AND u.tenant_id = :tenantId AND u.id = :userId " +
+                "RETURNING old.username AS old_username, u.username AS new_username";
+        List<String[]> rows = namedJdbcTemplate.query(sql, params,
+                (rs, rowNum) -> new String[]{rs.getString("old_username"), rs.getString("new_username")});
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Inserts or overwrites attributes for many users in a single statement. The three lists are parallel and must
+     * not contain the same (user, attribute) pair twice.
+     */
+    public int upsertAttributes(String tenantId, List<UUID> userIds, List<String> names, List<String> values) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_ATTRIBUTES_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+            ps.setArray(2, varcharArray(connection, names));
+            ps.setArray(3, varcharArray(connection, values));
+            ps.setString(4, tenantId);
+            return ps;
+        });
+    }
+
+    /**
+     * Deletes the named attributes of one user, or all of them when {@code names} is null.
+     */
+    public int deleteAttributes(String tenantId, UUID userId, Collection<String> names) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId).addValue("userId", userId);
+        String nameCondition = "";
+        if (names != null) {
+            if (names.isEmpty()) {
+                return 0;
+            }
+            nameCondition = " AND attribute_name IN (:names)";
+            params.addValue("names", names);
+        }
+        return namedJdbcTemplate.update(String.format(DELETE_ATTRIBUTES_SQL, nameCondition), params);
+    }
+
+    private static java.sql.Array varcharArray(Connection connection, List<String> values) throws SQLException {
+        return connection.createArrayOf("varchar", values.toArray());
+    }
+}
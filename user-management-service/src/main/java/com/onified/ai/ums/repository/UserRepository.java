@@ -1,16 +1,67 @@
 package com.onified.ai.ums.repository;
 
 import com.onified.ai.ums.entity.User;
+import com.onified.ai.ums.repository.projection.UserAuthView;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * All lookups are scoped to a tenant, except the checks marked global: usernames and emails are unique across
+ * tenants (they share one Keycloak realm), and login resolves the tenant from the username.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, UUID>, UserSearchRepository {
+    Optional<User> findByTenantIdAndId(String tenantId, UUID id);
+    Optional<User> findByTenantIdAndUsername(String tenantId, String username);
+    Optional<User> findByTenantIdAndEmail(String tenantId, String email);
+
+    // Global uniqueness checks
     boolean existsByUsername(String username);
-    Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    boolean existsByUsernameAndIdNot(String username, UUID id);
+    boolean existsByEmailAndIdNot(String email, UUID id);
+
+    // Detail views: roles are joined in, attributes are batch-fetched on access
+    @EntityGraph(value = User.GRAPH_ROLES)
+    Optional<User> findWithRolesByTenantIdAndId(String tenantId, UUID id);
+
+    @EntityGraph(value = User.GRAPH_ROLES)
+    Optional<User> findWithRolesByTenantIdAndUsername(String tenantId, String username);
+
+    // List views: scalar columns only
+    List<UserSummaryView> findAllProjectedByTenantId(String tenantId);
+
+    List<UserSummaryView> findProjectedByTenantIdAndIdIn(String tenantId, Collection<UUID> ids);
+
+    // Auth lookups (global, see above): id, tenant, username and hash, with roles fetched separately
+    Optional<UserAuthView> findAuthViewByUsername(String username);
+
+    @Query("SELECT r FROM User u JOIN u.roles r WHERE u.tenantId = :tenantId AND u.id = :userId")
+    List<String> findRoleNamesByTenantIdAndUserId(@Param("tenantId") String tenantId, @Param("userId") UUID userId);
+
+    // Set-based duplicate checks for bulk operations (global)
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Replaces the hash only if it is still currentHash, so a concurrent password change is never overwritten
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash " +
+           "WHERE u.tenantId = :tenantId AND u.id = :userId AND u.passwordHash = :currentHash")
+    int replacePasswordHash(@Param("tenantId") String tenantId, @Param("userId") UUID userId,
+                            @Param("currentHash") String currentHash, @Param("passwordHash") String passwordHash);
+}
@@ -0,0 +1,116 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.dto.UserSearchCriteria;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based role changes on user_roles. Each operation is a single INSERT ... SELECT or DELETE statement over the
+ * targeted users, so its cost does not depend on loading or saving User entities.
+ * <p>
+ * Each statement also appends one ROLE_GRANTED or ROLE_REVOKED change event per affected user through a data-modifying
+ * CTE, so the returned row count is the number of users changed. Grants skip rows a concurrent transaction inserted
+ * first ({@code ON CONFLICT DO NOTHING}); such rows are neither counted nor given an event.
+ * <p>
+ * Targets are always restricted to one tenant, in addition to the user list or filter.
+ * <p>
+ * These statements bypass the persistence context; callers must not rely on User entities loaded earlier in the
+ * same transaction.
+ */
+@Repository
+public class UserRoleBulkRepository {
+
+    private static final String APPEND_EVENTS =
+            "INSERT INTO user_change_events (user_id, tenant_id, username, change_type, detail, occurred_at) " +
+            "SELECT c.user_id, u.tenant_id, u.username, :changeType, :eventRole, now() FROM changed c JOIN users u ON u.id = c.user_id";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public UserRoleBulkRepository(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public int grant(String tenantId, String roleName, Collection<UUID> userIds, UserSearchCriteria filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource("role", roleName)
+                .addValue("changeType", "ROLE_GRANTED").addValue("eventRole", roleName);
+        String sql = "WITH changed AS (" +
+                "INSERT INTO user_roles (user_id, role_name, tenant_id) " +
+                "SELECT u.id, :role, u.tenant_id FROM users u WHERE " + targetCondition(tenantId, userIds, filter, params) +
+                " AND NOT EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND r.role_name = :role) " +
+                "ON CONFLICT (user_id, role_name) DO NOTHING " +
+                "RETURNING user_id) " + APPEND_EVENTS;
+        return namedJdbcTemplate.update(sql, params);
+    }
+
+    public int revoke(String tenantId, String roleName, Collection<UUID> userIds, UserSearchCriteria filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource("role", roleName)
+                .addValue("changeType", "ROLE_REVOKED").addValue("eventRole", roleName);
+        String sql = "WITH changed AS (" +
+                "DELETE FROM user_roles WHERE role_name = :role " +
+                "AND user_id IN (SELECT u.id FROM users u WHERE " + targetCondition(tenantId, userIds, filter, params) + ") " +
+                "RETURNING user_id) " + APPEND_EVENTS;
+        return namedJdbcTemplate.update(sql, params);
+    }
+
+    // Grants the replacement to targeted holders of the role; pair with revoke() in the same transaction
+    public int grantToHolders(String tenantId, String roleName, String replacementRoleName,
+                              Collection<UUID> userIds, UserSearchCriteria filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource("role", roleName)
+                .addValue("replacement", replacementRoleName)
+                .addValue("changeType", "ROLE_GRANTED").addValue("eventRole", replacementRoleName);
+        String sql = "WITH changed AS (" +
+                "INSERT INTO user_roles (user_id, role_name, tenant_id) " +
+                "SELECT u.id, :replacement, u.tenant_id FROM users u " +
+                "JOIN user_roles held ON held.user_id = u.id AND held.role_name = :role " +
+                "WHERE " + targetCondition(tenantId, userIds, filter, params) +
+                " AND NOT EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND r.role_name = :replacement) " +
+                "ON CONFLICT (user_id, role_name) DO NOTHING " +
+                "RETURNING user_id) " + APPEND_EVENTS;
+        return namedJdbcTemplate.update(sql, params);
+    }
+
+    // Mirrors the filter semantics of UserSearchRepositoryImpl
+    private static String targetCondition(String tenantId, Collection<UUID> userIds, UserSearchCriteria filter,
+                                          MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (userIds != null && !userIds.isEmpty()) {
+            conditions.add("u.id IN (:userIds)");
+            params.addValue("userIds", userIds);
+        }
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                conditions.add("u.status = :status");
+                params.addValue("status", filter.getStatus().name());
+            }
+            if (filter.getRole() != null && !filter.getRole().isBlank()) {
+                conditions.add("EXISTS (SELECT 1 FROM user_roles fr WHERE fr.user_id = u.id AND fr.role_name = :filterRole)");
+                params.addValue("filterRole", filter.getRole());
+            }
+            if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+                conditions.add("lower(u.email) LIKE :emailPattern ESCAPE '" + UserSearchRepositoryImpl.LIKE_ESCAPE + "'");
+                params.addValue("emailPattern", UserSearchRepositoryImpl.emailDomainPattern(filter.getEmailDomain()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                conditions.add("u.created_at >= :createdFrom");
+                params.addValue("createdFrom", Timestamp.from(filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                conditions.add("u.created_at < :createdTo");
+                params.addValue("createdTo", Timestamp.from(filter.getCreatedTo()));
+            }
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("Bulk role operations require a user list or a filter");
+        }
+        conditions.add("u.tenant_id = :tenantId");
+        params.addValue("tenantId", tenantId);
+        return String.join(" AND ", conditions);
+    }
+}
@@ -0,0 +1,24 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.dto.UserSearchCriteria;
+import com.onified.ai.ums.repository.projection.UserCursor;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Filtered user listing backed by the JPA Criteria API. Results are always restricted to one tenant.
+ */
+public interface UserSearchRepository {
+
+    /**
+     * Returns up to {@code limit} users matching the criteria, strictly after the given keyset position.
+     */
+    List<UserSummaryView> findPage(String tenantId, UserSearchCriteria criteria, UserCursor after, int limit);
+
+    /**
+     * Streams every matching user through a server-side cursor. Must be consumed inside a transaction and closed.
+     */
+    Stream<UserSummaryView> streamAll(String tenantId, UserSearchCriteria criteria);
+}
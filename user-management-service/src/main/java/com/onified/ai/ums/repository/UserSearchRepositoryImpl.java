@@ -0,0 +1,138 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.dto.UserSearchCriteria;
+import com.onified.ai.ums.entity.User;
+import com.onified.ai.ums.repository.projection.UserCursor;
+import com.onified.ai.ums.repository.projection.UserSummaryRow;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+    static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummaryView> findPage(String tenantId, UserSearchCriteria criteria, UserCursor after, int limit) {
+        return entityManager.createQuery(buildQuery(tenantId, criteria, after))
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(UserSearchRepositoryImpl::toView)
+                .toList();
+    }
+
+    @Override
+    public Stream<UserSummaryView> streamAll(String tenantId, UserSearchCriteria criteria) {
+        return entityManager.createQuery(buildQuery(tenantId, criteria, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(UserSearchRepositoryImpl::toView);
+    }
+
+    private CriteriaQuery<Tuple> buildQuery(String tenantId, UserSearchCriteria criteria, UserCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<User> user = query.from(User.class);
+
+        query.multiselect(
+                user.get("id"),
+                user.get("username"),
+                user.get("email"),
+                user.get("firstName"),
+                user.get("lastName"),
+                user.get("status"),
+                user.get("createdAt"),
+                user.get("updatedAt")
+        );
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(user.get("tenantId"), tenantId));
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(user.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getRole() != null && !criteria.getRole().isBlank()) {
+            predicates.add(cb.isMember(criteria.getRole(), user.<Set<String>>get("roles")));
+        }
+        if (criteria.getEmailDomain() != null && !criteria.getEmailDomain().isBlank()) {
+            predicates.add(cb.like(cb.lower(user.<String>get("email")), emailDomainPattern(criteria.getEmailDomain()), LIKE_ESCAPE));
+        }
+        if (criteria.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(user.<Instant>get("createdAt"), criteria.getCreatedFrom()));
+        }
+        if (criteria.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(user.<Instant>get("createdAt"), criteria.getCreatedTo()));
+        }
+
+        boolean ascending = criteria.getDirection() != Sort.Direction.DESC;
+        Path<UUID> id = user.get("id");
+        if (after != null) {
+            predicates.add(switch (criteria.getSortBy()) {
+                case CREATED_AT -> keyset(cb, user.<Instant>get("createdAt"), Instant.parse(after.getSortValue()), id, after.getId(), ascending);
+                case USERNAME -> keyset(cb, user.<String>get("username"), after.getSortValue(), id, after.getId(), ascending);
+                case EMAIL -> keyset(cb, user.<String>get("email"), after.getSortValue(), id, after.getId(), ascending);
+            });
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        Path<?> sortPath = user.get(criteria.getSortBy().getProperty());
+        query.orderBy(
+                ascending ? cb.asc(sortPath) : cb.desc(sortPath),
+                ascending ? cb.asc(id) : cb.desc(id)
+        );
+        return query;
+    }
+
+    // (sort, id) > (value, lastId) for ascending order, < for descending
+    private static <T extends Comparable<? super T>> Predicate keyset(CriteriaBuilder cb, Path<T> sortPath, T value,
+                                                                       Path<UUID> id, UUID lastId, boolean ascending) {
+        if (ascending) {
+            return cb.or(cb.greaterThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.greaterThan(id, lastId)));
+        }
+        return cb.or(cb.lessThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.lessThan(id, lastId)));
+    }
+
+    // "%@<domain>" with LIKE wildcards in the domain escaped, so "a_b.com" does not also match "axb.com"
+    static String emailDomainPattern(String domain) {
+        String escaped = domain.toLowerCase()
+                .replace(String.valueOf(LIKE_ESCAPE), "" + LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return "%@" + escaped;
+    }
+
+    private static UserSummaryView toView(Tuple tuple) {
+        return new UserSummaryRow(
+                tuple.get(0, UUID.class),
+                tuple.get(1, String.class),
+                tuple.get(2, String.class),
+                tuple.get(3, String.class),
+                tuple.get(4, String.class),
+                tuple.get(5, User.UserStatus.class),
+                tuple.get(6, Instant.class),
+                tuple.get(7, Instant.class)
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package com.onified.ai.ums.repository;
+
+import com.onified.ai.ums.repository.projection.UserSummaryRow;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Prefix and typo-tolerant user lookup over username, email, first and last name.
+ * <p>
+ * Results are restricted to one tenant. Prefix matches are served by (tenant_id, lower(column) text_pattern_ops)
+ * B-tree indexes. Fuzzy matches use the pg_trgm word-similarity operator and lower(column) gin_trgm_ops indexes,
+ * with the tenant applied as a filter. Hibernate cannot declare expression or GIN
+ * indexes, so {@link #createPrefixIndexes()} and {@link #createTrigramIndexes()} create them idempotently at startup.
+ */
+@Repository
+public class UserTypeaheadRepository {
+
+    private static final String[] COLUMNS = {"username", "email", "first_name", "last_name"};
+
+    // Ranking: exact username or email first, then prefix matches by column weight, then fuzzy similarity
+    private static final String SELECT_PREFIX =
+            "SELECT id, username, email, first_name, last_name, status, created_at, updated_at, " +
+            "GREATEST(" +
+            "  CASE WHEN lower(username) = :q OR lower(email) = :q THEN 4.0 ELSE 0 END, " +
+            "  CASE WHEN lower(username) LIKE :prefix ESCAPE '\\' THEN 3.0 ELSE 0 END, " +
+            "  CASE WHEN lower(email) LIKE :prefix ESCAPE '\\' THEN 2.5 ELSE 0 END, " +
+            "  CASE WHEN lower(first_name) LIKE :prefix ESCAPE '\\' OR lower(last_name) LIKE :prefix ESCAPE '\\' THEN 2.0 ELSE 0 END";
+
+    private static final String FUZZY_SCORE =
+            ", word_similarity(:q, lower(username)), word_similarity(:q, lower(email)), " +
+            "  word_similarity(:q, coalesce(lower(first_name), '')), word_similarity(:q, coalesce(lower(last_name), ''))";
+
+    private static final String FROM_WHERE_PREFIX =
+            ") AS score FROM users " +
+            "WHERE tenant_id = :tenantId " +
+            "  AND (lower(username) LIKE :prefix ESCAPE '\\' OR lower(email) LIKE :prefix ESCAPE '\\' " +
+            "   OR lower(first_name) LIKE :prefix ESCAPE '\\' OR lower(last_name) LIKE :prefix ESCAPE '\\'";
+
+    private static final String FUZZY_WHERE =
+            "   OR :q <% lower(username) OR :q <% lower(email) OR :q <% lower(first_name) OR :q <% lower(last_name)";
+
+    private static final String ORDER_LIMIT = ") ORDER BY score DESC, username LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserTypeaheadRepository(NamedParameterJdbcTemplate namedJdbcTemplate, JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param query  lower-cased search text
+     * @param fuzzy  whether to include trigram matches; requires pg_trgm
+     */
+    public List<UserSummaryView> search(String tenantId, String query, int limit, boolean fuzzy) {
+        String sql = SELECT_PREFIX + (fuzzy ? FUZZY_SCORE : "") + FROM_WHERE_PREFIX + (fuzzy ? FUZZY_WHERE : "") + ORDER_LIMIT;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", tenantId)
+                .addValue("q", query)
+                .addValue("prefix", escapeLike(query) + "%")
+                .addValue("limit", limit);
+        return namedJdbcTemplate.query(sql, params, (rs, rowNum) -> UserSummaryRow.fromResultSet(rs));
+    }
+
+    public void createPrefixIndexes() {
+        for (String column : COLUMNS) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_tenant_" + column + "_prefix " +
+                    "ON users (tenant_id, lower(" + column + ") text_pattern_ops)");
+            // Superseded by the tenant-leading index above
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_users_" + column + "_prefix");
+        }
+    }
+
+    // Fails if pg_trgm is not installed and the database user may not create extensions
+    public void createTrigramIndexes() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        for (String column : COLUMNS) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_" + column + "_trgm " +
+                    "ON users USING gin (lower(" + column + ") gin_trgm_ops)");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,13 @@
+package com.onified.ai.ums.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Slim projection used on the login path: only the columns the Authentication Service needs.
+ */
+public interface UserAuthView {
+    UUID getId();
+    String getTenantId();
+    String getUsername();
+    String getPasswordHash();
+}
@@ -0,0 +1,58 @@
+package com.onified.ai.ums.repository.projection;
+
+import com.onified.ai.ums.dto.UserSearchCriteria;
+import lombok.Value;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position for user pagination: the sort column, direction, and the sort value and id of the last row
+ * returned. A cursor only continues a listing with the same sort column and direction. Encoded as an opaque URL-safe string so clients cannot depend on its layout.
+ */
+@Value
+public class UserCursor {
+    UserSearchCriteria.SortField sortBy;
+    Sort.Direction direction;
+    String sortValue;
+    UUID id;
+
+    public static UserCursor of(UserSearchCriteria.SortField sortBy, Sort.Direction direction, UserSummaryView last) {
+        String sortValue = switch (sortBy) {
+            case CREATED_AT -> last.getCreatedAt().toString();
+            case USERNAME -> last.getUsername();
+            case EMAIL -> last.getEmail();
+        };
+        return new UserCursor(sortBy, direction, sortValue, last.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy.name() + "\n" + direction.name() + "\n" + id + "\n" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static UserCursor decode(String encoded) {
+        String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\n", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        UserSearchCriteria.SortField sortBy = UserSearchCriteria.SortField.valueOf(parts[0]);
+        Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+        if (sortBy == UserSearchCriteria.SortField.CREATED_AT) {
+            try {
+                Instant.parse(parts[3]);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Malformed cursor", ex);
+            }
+        }
+        return new UserCursor(sortBy, direction, parts[3], UUID.fromString(parts[2]));
+    }
+}
@@ -0,0 +1,40 @@
+package com.onified.ai.ums.repository.projection;
+
+import com.onified.ai.ums.entity.User;
+import lombok.Value;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Unmanaged {@link UserSummaryView} built from criteria tuples, so large scans do not grow the persistence context.
+ */
+@Value
+public class UserSummaryRow implements UserSummaryView {
+    UUID id;
+    String username;
+    String email;
+    String firstName;
+    String lastName;
+    User.UserStatus status;
+    Instant createdAt;
+    Instant updatedAt;
+
+    // Maps a row of the users table selected with its snake_case column names
+    public static UserSummaryRow fromResultSet(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return new UserSummaryRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                User.UserStatus.valueOf(rs.getString("status")),
+                rs.getTimestamp("created_at").toInstant(),
+                updatedAt != null ? updatedAt.toInstant() : null
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.onified.ai.ums.repository.projection;
+
+import com.onified.ai.ums.entity.User;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Closed projection over the scalar columns of {@link User}.
+ * Used by list views so that neither roles nor attributes are loaded.
+ */
+public interface UserSummaryView {
+    UUID getId();
+    String getUsername();
+    String getEmail();
+    String getFirstName();
+    String getLastName();
+    User.UserStatus getStatus();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+}
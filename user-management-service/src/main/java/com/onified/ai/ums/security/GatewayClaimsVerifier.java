@@ -0,0 +1,86 @@
+package com.onified.ai.ums.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Checks the HMAC-SHA256 signature the gateway puts on the claims headers it forwards ({@code X-Auth-*} and
+ * {@code X-Tenant-ID}), using the secret shared as {@code ums.gateway.internal-signing-secret}. The signed string
+ * is subject, username, roles, tenant and timestamp joined by {@code '\n'}, absent values as empty strings.
+ * Signatures older or newer than {@code ums.gateway.max-clock-skew-seconds} are rejected. Without a secret
+ * nothing verifies.
+ */
+@Component
+@Slf4j
+public class GatewayClaimsVerifier {
+
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String USERNAME_HEADER = "X-Auth-Username";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String TIMESTAMP_HEADER = "X-Auth-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long maxClockSkewSeconds;
+
+    public GatewayClaimsVerifier(@Value("${ums.gateway.internal-signing-secret:}") String secret,
+                                 @Value("${ums.gateway.max-clock-skew-seconds:300}") long maxClockSkewSeconds) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("ums.gateway.internal-signing-secret is not set; requests carrying a tenant header will be rejected");
+            this.key = null;
+        } else {
+            this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        }
+        this.maxClockSkewSeconds = maxClockSkewSeconds;
+    }
+
+    // True if the request's claims headers, including the given tenant, carry a current gateway signature
+    public boolean isSigned(HttpServletRequest request, String tenantId) {
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        String timestamp = request.getHeader(TIMESTAMP_HEADER);
+        if (key == null || signature == null || timestamp == null) {
+            return false;
+        }
+        long signedAt;
+        try {
+            signedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - signedAt) > maxClockSkewSeconds) {
+            return false;
+        }
+        String payload = String.join("\n", nullToEmpty(request.getHeader(SUBJECT_HEADER)),
+                nullToEmpty(request.getHeader(USERNAME_HEADER)), nullToEmpty(request.getHeader(ROLES_HEADER)),
+                nullToEmpty(tenantId), timestamp);
+        byte[] expected;
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            expected = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+        try {
+            return MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
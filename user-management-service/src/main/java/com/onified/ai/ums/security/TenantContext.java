@@ -0,0 +1,32 @@
+package com.onified.ai.ums.security;
+
+/**
+ * Tenant of the current request, resolved by {@link TenantContextFilter}.
+ * <p>
+ * Callers that do not send a tenant header (internal services, existing clients) act on the default platform
+ * tenant, so single-tenant deployments keep working unchanged.
+ */
+public final class TenantContext {
+
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+    public static final String DEFAULT_TENANT = "platform";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,53 @@
+package com.onified.ai.ums.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the {@code X-Tenant-ID} request header to {@link TenantContext} for the duration of the request.
+ * <p>
+ * The header is only trusted when the gateway signed it together with the caller's claims (see
+ * {@link GatewayClaimsVerifier}); requests with an unsigned or badly signed tenant header are rejected with 401
+ * rather than served from the default tenant, so a caller cannot name another tenant by setting the header itself.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantContextFilter extends OncePerRequestFilter {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+
+    private final GatewayClaimsVerifier gatewayClaimsVerifier;
+
+    public TenantContextFilter(GatewayClaimsVerifier gatewayClaimsVerifier) {
+        this.gatewayClaimsVerifier = gatewayClaimsVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(TenantContext.TENANT_HEADER);
+        if (tenantId != null && !TENANT_ID.matcher(tenantId).matches()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid " + TenantContext.TENANT_HEADER + " header");
+            return;
+        }
+        if (tenantId != null && !gatewayClaimsVerifier.isSigned(request, tenantId)) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unsigned " + TenantContext.TENANT_HEADER + " header");
+            return;
+        }
+        TenantContext.setTenantId(tenantId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.client.AuthenticationFeignClient;
+import com.onified.ai.ums.dto.BatchUserDeletionRequest;
+import com.onified.ai.ums.dto.BatchUserDeletionResponse;
+import com.onified.ai.ums.entity.OutboxEvent;
+import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers {@link OutboxEvent.EventType#KEYCLOAK_USER_DELETE} events to the Authentication Service in batches.
+ * <p>
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, so several UMS instances can dispatch concurrently without
+ * sending the same event twice. Accounts are deleted by Keycloak id when the user was linked to one, and by username
+ * otherwise. Users deleted or already absent in Keycloak are removed from the outbox. Failed deletions are retried
+ * with exponential backoff and marked {@code DEAD} after {@code max-attempts}, leaving a visible record instead of a
+ * silent orphan.
+ */
+@Service
+@Slf4j
+public class KeycloakDeletionDispatcher {
+
+    private static final String METRIC_NAME = "ums.outbox.keycloak.deletions";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final AuthenticationFeignClient authenticationFeignClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+
+    @Value("${ums.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ums.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${ums.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMs;
+
+    @Value("${ums.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    public KeycloakDeletionDispatcher(OutboxEventRepository outboxEventRepository,
+                                      AuthenticationFeignClient authenticationFeignClient,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.authenticationFeignClient = authenticationFeignClient;
+        this.transactionTemplate = transactionTemplate;
+        this.delivered = Counter.builder(METRIC_NAME).tag("result", "delivered").register(meterRegistry);
+        this.retried = Counter.builder(METRIC_NAME).tag("result", "retried").register(meterRegistry);
+        this.dead = Counter.builder(METRIC_NAME).tag("result", "dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ums.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        // Keep draining while batches come back full; retried events move into the future, so this terminates
+        Integer claimed;
+        do {
+            claimed = transactionTemplate.execute(status -> dispatchBatch());
+        } while (claimed != null && claimed == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockDueEvents(
+                OutboxEvent.EventType.KEYCLOAK_USER_DELETE, Instant.now(), PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> usernames = new LinkedHashSet<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        events.forEach(event -> {
+            if (event.getKeycloakUserId() != null) {
+                userIds.add(event.getKeycloakUserId());
+            } else {
+                usernames.add(event.getPayload());
+            }
+        });
+
+        Set<String> failed;
+        String error;
+        try {
+            ApiResponse<BatchUserDeletionResponse> response = authenticationFeignClient.deleteUsersFromKeycloak(
+                    new BatchUserDeletionRequest(new ArrayList<>(usernames), new ArrayList<>(userIds)));
+            if (response == null || response.getBody() == null) {
+                failed = allKeys(usernames, userIds);
+                error = "Empty response from Authentication Service";
+            } else {
+                failed = new HashSet<>(response.getBody().getFailed());
+                error = "Keycloak deletion failed";
+            }
+        } catch (Exception e) {
+            failed = allKeys(usernames, userIds);
+            error = e.getMessage();
+        }
+
+        List<OutboxEvent> done = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (failed.contains(key(event))) {
+                scheduleRetry(event, error);
+            } else {
+                done.add(event);
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(done);
+        delivered.increment(done.size());
+        return events.size();
+    }
+
+    // What the event is deleted by, and reported under if it fails
+    private static String key(OutboxEvent event) {
+        return event.getKeycloakUserId() != null ? event.getKeycloakUserId() : event.getPayload();
+    }
+
+    private static Set<String> allKeys(Set<String> usernames, Set<String> userIds) {
+        Set<String> keys = new HashSet<>(usernames);
+        keys.addAll(userIds);
+        return keys;
+    }
+
+    private void scheduleRetry(OutboxEvent event, String error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.OutboxStatus.DEAD);
+            dead.increment();
+            log.error("Giving up deleting user '{}' (Keycloak id {}) from Keycloak after {} attempts: {}",
+                    event.getPayload(), event.getKeycloakUserId(), attempts, error);
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        event.setNextAttemptAt(Instant.now().plus(Duration.ofMillis(backoff)));
+        retried.increment();
+    }
+}
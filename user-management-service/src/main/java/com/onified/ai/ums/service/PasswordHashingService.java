@@ -0,0 +1,129 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a dedicated, fixed-size pool so that hashing CPU is bounded
+ * independently of the number of servlet threads.
+ * <p>
+ * At most {@code threads + queue-capacity} operations are admitted at once. Interactive callers wait up to
+ * {@code acquire-timeout-ms} for a slot and are rejected with {@link ServiceBusyException} after that; bulk callers
+ * ({@link #encodeAll(List)}) block until capacity frees up. Pool and queue metrics are published under
+ * {@code ums.password.hashing}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String METRIC_PREFIX = "ums.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ums.password.hashing.threads:4}") int threads,
+                                  @Value("${ums.password.hashing.queue-capacity:200}") int queueCapacity,
+                                  @Value("${ums.password.hashing.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(threads + queueCapacity);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("ums-password-hash-"));
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_PREFIX);
+        Gauge.builder(METRIC_PREFIX + ".available.slots", permits, Semaphore::availablePermits)
+                .description("Hashing operations that can still be admitted without waiting")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".duration").tag("operation", "matches").register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), false));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash)), false));
+    }
+
+    /**
+     * True when the hash was produced with another algorithm or weaker parameters than currently configured.
+     * Cheap: only inspects the stored hash.
+     */
+    public boolean needsUpgrade(String passwordHash) {
+        return passwordEncoder.upgradeEncoding(passwordHash);
+    }
+
+    /**
+     * Hashes many passwords in parallel, blocking the caller while the pool is saturated. Results keep input order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> hashes = rawPasswords.stream()
+                .map(raw -> submit(() -> encodeTimer.record(() -> passwordEncoder.encode(raw)), true))
+                .toList();
+        return hashes.stream().map(PasswordHashingService::await).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task, boolean waitForCapacity) {
+        acquire(waitForCapacity);
+        try {
+            return CompletableFuture.supplyAsync(task, executor).whenComplete((result, error) -> permits.release());
+        } catch (RejectedExecutionException ex) {
+            permits.release();
+            throw new ServiceBusyException(ErrorConstants.PASSWORD_HASHING_BUSY);
+        }
+    }
+
+    private void acquire(boolean waitForCapacity) {
+        try {
+            if (waitForCapacity) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException(ErrorConstants.PASSWORD_HASHING_BUSY);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(ErrorConstants.PASSWORD_HASHING_BUSY);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
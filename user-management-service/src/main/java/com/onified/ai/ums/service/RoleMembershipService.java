@@ -0,0 +1,111 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.RoleUserCountResponse;
+import com.onified.ai.ums.dto.UserPageResponse;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.mapper.UserMapper;
+import com.onified.ai.ums.repository.RoleMembershipRepository;
+import com.onified.ai.ums.security.TenantContext;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "who holds role X" and "how many users per role", within the current tenant.
+ * <p>
+ * Counts live in tenant_role_user_counts and are adjusted by every write path through {@link #adjust(Map)}, inside the
+ * writer's transaction, so reading them is a primary-key lookup. They are recomputed from user_roles at startup
+ * and on demand to repair drift, e.g. from manual SQL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoleMembershipService {
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+
+    private final RoleMembershipRepository roleMembershipRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserPageResponse findUsersByRole(String roleId, String cursor, Integer requestedLimit) {
+        int limit = requestedLimit != null ? requestedLimit : DEFAULT_PAGE_LIMIT;
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_PAGE_LIMIT, MAX_PAGE_LIMIT));
+        }
+        UUID after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = UUID.fromString(cursor);
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException(String.format(ErrorConstants.INVALID_CURSOR, cursor));
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<UserSummaryView> rows = roleMembershipRepository.findUsersByRole(TenantContext.getTenantId(), roleId, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<UserSummaryView> page = hasMore ? rows.subList(0, limit) : rows;
+        return new UserPageResponse(
+                page.stream().map(UserMapper::toUserSummaryResponse).collect(Collectors.toList()),
+                hasMore ? page.get(page.size() - 1).getId().toString() : null,
+                hasMore
+        );
+    }
+
+    public List<RoleUserCountResponse> getCounts() {
+        return roleMembershipRepository.findCounts(TenantContext.getTenantId()).stream()
+                .map(count -> new RoleUserCountResponse(count.getRoleName(), count.getUserCount()))
+                .collect(Collectors.toList());
+    }
+
+    public RoleUserCountResponse getCount(String roleId) {
+        return new RoleUserCountResponse(roleId, roleMembershipRepository.findCount(TenantContext.getTenantId(), roleId));
+    }
+
+    // Must be called inside the transaction that changed user_roles of the current tenant
+    public void adjust(Map<String, Long> deltas) {
+        roleMembershipRepository.adjustCounts(TenantContext.getTenantId(), deltas);
+    }
+
+    public void adjust(String roleId, long delta) {
+        adjust(Map.of(roleId, delta));
+    }
+
+    public void granted(Collection<String> roleIds) {
+        adjust(toDeltas(roleIds, 1));
+    }
+
+    public void revoked(Collection<String> roleIds) {
+        adjust(toDeltas(roleIds, -1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildCounts() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> roleMembershipRepository.rebuildCounts());
+        } catch (Exception ex) {
+            log.warn("Could not rebuild role user counts", ex);
+        }
+    }
+
+    private static Map<String, Long> toDeltas(Collection<String> roleIds, long delta) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (roleIds != null) {
+            roleIds.forEach(roleId -> deltas.merge(roleId, delta, Long::sum));
+        }
+        return deltas;
+    }
+}
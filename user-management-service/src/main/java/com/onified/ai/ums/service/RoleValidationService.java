@@ -0,0 +1,96 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.client.PermissionRegistryFeignClient;
+import com.onified.ai.ums.model.ApiResponse;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks role IDs against the Permission Registry Service.
+ * <p>
+ * Roles confirmed to exist and be active are cached locally with a TTL. Unknown roles are never cached, so a newly
+ * created role is usable immediately; updated or deleted roles are evicted through {@link #invalidate(Collection)},
+ * which the Permission Registry Service calls on role changes. The TTL bounds staleness if such a call is lost.
+ */
+@Service
+@RequiredArgsConstructor
+public class RoleValidationService {
+
+    private final PermissionRegistryFeignClient permissionRegistryFeignClient;
+
+    // roleId -> expiry time in epoch millis
+    private final Map<String, Long> knownRoles = new ConcurrentHashMap<>();
+
+    @Value("${ums.roles.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    public boolean doesRoleExist(String roleName) {
+        return findMissingRoles(Set.of(roleName)).isEmpty();
+    }
+
+    /**
+     * Returns the subset of the given roles that do not exist or are inactive.
+     * All roles missing from the local cache are resolved with a single batch call.
+     */
+    public Set<String> findMissingRoles(Collection<String> roleNames) {
+        long now = System.currentTimeMillis();
+        Set<String> uncached = new LinkedHashSet<>();
+        for (String roleName : roleNames) {
+            Long expiresAt = knownRoles.get(roleName);
+            if (expiresAt == null || expiresAt < now) {
+                uncached.add(roleName);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> active = new HashSet<>(fetchActiveRoles(uncached));
+        long expiresAt = now + cacheTtlSeconds * 1000;
+        Set<String> missing = new LinkedHashSet<>();
+        for (String roleName : uncached) {
+            if (active.contains(roleName)) {
+                knownRoles.put(roleName, expiresAt);
+            } else {
+                knownRoles.remove(roleName);
+                missing.add(roleName);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Drops the given roles from the cache; an empty collection clears it entirely.
+     */
+    public void invalidate(Collection<String> roleNames) {
+        if (roleNames == null || roleNames.isEmpty()) {
+            knownRoles.clear();
+        } else {
+            roleNames.forEach(knownRoles::remove);
+        }
+    }
+
+    private List<String> fetchActiveRoles(Collection<String> roleNames) {
+        try {
+            ApiResponse<List<String>> response = permissionRegistryFeignClient.validateRoles(roleNames);
+            if (response == null || response.getStatusCode() != HttpStatus.OK.value() || response.getBody() == null) {
+                throw new RuntimeException("Failed to validate roles with Permission Registry Service: unexpected response " + response);
+            }
+            return response.getBody();
+        } catch (FeignException ex) {
+            System.err.println("Error communicating with Permission Registry Service: " + ex.getMessage());
+            throw new RuntimeException("Failed to validate role with Permission Registry Service: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.AttributeSearchRequest;
+import com.onified.ai.ums.dto.UserPageResponse;
+import com.onified.ai.ums.dto.UserResponse;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.mapper.UserMapper;
+import com.onified.ai.ums.repository.UserAttributeRepository;
+import com.onified.ai.ums.repository.UserRepository;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import com.onified.ai.ums.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Finds users by attribute values.
+ * <p>
+ * Each filter is resolved against the (tenant_id, attribute_name, attribute_value, user_id) index of the current
+ * tenant, in user id order. The first filter drives: its posting list is read in batches starting after the page
+ * cursor, and each batch is narrowed by the other filters with queries restricted to the batch's ids. A page
+ * therefore costs work proportional to the postings it passes over, not to all matches, and large posting lists
+ * never leave the database. Callers get the best performance by putting the most selective filter first.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAttributeSearchService {
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final int MAX_FILTERS = 10;
+    private static final int MAX_VALUES_PER_FILTER = 100;
+    // Ids read from the driving posting list per round, and so the largest IN list sent back to the database
+    private static final int BATCH_SIZE = 1000;
+
+    // Matches PostgreSQL's uuid ordering (unsigned, byte-wise), so ORDER BY user_id results are already sorted
+    static final Comparator<UUID> UUID_ORDER = (a, b) -> {
+        int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final UserAttributeRepository userAttributeRepository;
+    private final UserRepository userRepository;
+
+    public UserPageResponse search(AttributeSearchRequest request) {
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_LIMIT;
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_PAGE_LIMIT, MAX_PAGE_LIMIT));
+        }
+        if (request.getFilters().size() > MAX_FILTERS
+                || request.getFilters().stream().anyMatch(f -> f.getValues().size() > MAX_VALUES_PER_FILTER)) {
+            throw new BadRequestException(String.format(ErrorConstants.ATTRIBUTE_FILTER_LIMIT_EXCEEDED, MAX_FILTERS, MAX_VALUES_PER_FILTER));
+        }
+        UUID after = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            try {
+                after = UUID.fromString(request.getCursor());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException(String.format(ErrorConstants.INVALID_CURSOR, request.getCursor()));
+            }
+        }
+
+        // One extra id tells whether another page exists
+        List<UUID> window = findMatchingUserIds(request.getFilters(), after, limit + 1);
+        boolean hasMore = window.size() > limit;
+        List<UUID> pageIds = hasMore ? window.subList(0, limit) : window;
+
+        return new UserPageResponse(
+                loadSummaries(pageIds),
+                hasMore ? pageIds.get(pageIds.size() - 1).toString() : null,
+                hasMore
+        );
+    }
+
+    // Up to max sorted ids of users matching every filter, starting after the given id (null: from the start)
+    List<UUID> findMatchingUserIds(List<AttributeSearchRequest.AttributeFilter> filters, UUID after, int max) {
+        String tenantId = TenantContext.getTenantId();
+        AttributeSearchRequest.AttributeFilter driver = filters.get(0);
+        List<String> driverValues = distinct(driver.getValues());
+        List<UUID> result = new ArrayList<>(max);
+        UUID position = after;
+        while (result.size() < max) {
+            PageRequest batch = PageRequest.of(0, BATCH_SIZE);
+            List<UUID> candidates = sorted(position == null
+                    ? userAttributeRepository.findUserIdsByAttribute(tenantId, driver.getName(), driverValues, batch)
+                    : userAttributeRepository.findUserIdsByAttributeAfter(tenantId, driver.getName(), driverValues, position, batch));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            position = candidates.get(candidates.size() - 1);
+
+            List<UUID> matches = candidates;
+            for (int i = 1; i < filters.size() && !matches.isEmpty(); i++) {
+                AttributeSearchRequest.AttributeFilter filter = filters.get(i);
+                matches = intersect(matches, sorted(userAttributeRepository.findUserIdsByAttributeAmong(
+                        tenantId, filter.getName(), distinct(filter.getValues()), matches)));
+            }
+            result.addAll(matches.subList(0, Math.min(matches.size(), max - result.size())));
+            if (candidates.size() < BATCH_SIZE) {
+                break; // driving posting list exhausted
+            }
+        }
+        return result;
+    }
+
+    // Linear merge of two sorted, duplicate-free id lists
+    static List<UUID> intersect(List<UUID> left, List<UUID> right) {
+        List<UUID> out = new ArrayList<>(Math.min(left.size(), right.size()));
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            int cmp = UUID_ORDER.compare(left.get(i), right.get(j));
+            if (cmp == 0) {
+                out.add(left.get(i));
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return out;
+    }
+
+    private static List<String> distinct(List<String> values) {
+        return new ArrayList<>(new LinkedHashSet<>(values));
+    }
+
+    // No-op on PostgreSQL, guards against other collations
+    private static List<UUID> sorted(List<UUID> ids) {
+        List<UUID> copy = new ArrayList<>(ids);
+        copy.sort(UUID_ORDER);
+        return copy;
+    }
+
+    private List<UserResponse> loadSummaries(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, UserSummaryView> byId = userRepository.findProjectedByTenantIdAndIdIn(TenantContext.getTenantId(), ids).stream()
+                .collect(Collectors.toMap(UserSummaryView::getId, Function.identity()));
+        // Keep id order; a user deleted between the two queries is simply dropped
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(UserMapper::toUserSummaryResponse)
+                .collect(Collectors.toList());
+    }
+}
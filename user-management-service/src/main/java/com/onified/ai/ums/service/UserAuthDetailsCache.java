@@ -0,0 +1,153 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.dto.UserAuthDetailsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Short-lived, size-bounded cache of login details keyed by username.
+ * <p>
+ * Concurrent misses for the same username share one database lookup, so a login storm costs one query per user
+ * rather than one per request. Writers call {@link #invalidate(String)}, which evicts immediately and again after
+ * the surrounding transaction commits; a lookup that overlapped an invalidation is returned but not cached.
+ * Unknown usernames are never cached. Hits and misses are counted under {@code ums.auth.cache.requests}.
+ */
+@Component
+public class UserAuthDetailsCache {
+
+    private static final String METRIC_PREFIX = "ums.auth.cache";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<UserAuthDetailsResponse>> inFlight = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; loads that started under an older generation are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserAuthDetailsCache(MeterRegistry meterRegistry,
+                                @Value("${ums.auth-cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${ums.auth-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+        this.hits = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_PREFIX + ".requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size).register(meterRegistry);
+    }
+
+    public UserAuthDetailsResponse get(String username, Function<String, UserAuthDetailsResponse> loader) {
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        CompletableFuture<UserAuthDetailsResponse> own = new CompletableFuture<>();
+        CompletableFuture<UserAuthDetailsResponse> existing = inFlight.putIfAbsent(username, own);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            long startGeneration = generation.get();
+            UserAuthDetailsResponse value = loader.apply(username);
+            if (generation.get() == startGeneration) {
+                put(username, value);
+            }
+            own.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(username, own);
+        }
+    }
+
+    public void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    // For set-based writes where the affected usernames are not known individually
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private void evict(String username) {
+        generation.incrementAndGet();
+        entries.remove(username);
+    }
+
+    private void put(String username, UserAuthDetailsResponse value) {
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            // Still full: drop arbitrary entries; with a short TTL this is rare and cheap
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() >= maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        UserAuthDetailsResponse copy = new UserAuthDetailsResponse(
+                value.getId(), value.getTenantId(), value.getUsername(), value.getPasswordHash(), List.copyOf(value.getRoles()));
+        entries.put(username, new Entry(copy, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private static UserAuthDetailsResponse join(CompletableFuture<UserAuthDetailsResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static final class Entry {
+        private final UserAuthDetailsResponse value;
+        private final long expiresAt;
+
+        private Entry(UserAuthDetailsResponse value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
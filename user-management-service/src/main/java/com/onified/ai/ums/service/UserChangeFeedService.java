@@ -0,0 +1,153 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.UserChangeEventResponse;
+import com.onified.ai.ums.dto.UserChangeFeedResponse;
+import com.onified.ai.ums.entity.UserChangeEvent;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.repository.UserChangeEventRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the user change feed to replicas in other services. The feed spans all tenants; each event carries its
+ * tenant id.
+ * <p>
+ * Consumers read events after their last cursor. With {@code waitSeconds > 0} an empty read is parked instead of
+ * answered immediately; parked requests hold no servlet thread and are completed by a single poller that checks
+ * the newest feed position every {@code ums.changes.poll-interval-ms}, which also picks up writes made by other
+ * instances. Events are served once {@link UserChangeSequencer} has given them a position.
+ */
+@Service
+@Slf4j
+public class UserChangeFeedService {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+    private static final int MAX_WAIT_SECONDS = 25; // below the default async request timeout
+
+    private final UserChangeEventRepository userChangeEventRepository;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    @Value("${ums.changes.max-waiters:1000}")
+    private int maxWaiters;
+
+    @Value("${ums.changes.retention-days:7}")
+    private int retentionDays;
+
+    public UserChangeFeedService(UserChangeEventRepository userChangeEventRepository) {
+        this.userChangeEventRepository = userChangeEventRepository;
+    }
+
+    public CompletableFuture<UserChangeFeedResponse> poll(Long after, Integer requestedLimit, Integer waitSeconds) {
+        long cursor = after != null ? after : 0;
+        int limit = requestedLimit != null ? requestedLimit : DEFAULT_LIMIT;
+        if (cursor < 0) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_CURSOR, after));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_PAGE_LIMIT, MAX_LIMIT));
+        }
+        int wait = waitSeconds != null ? Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS)) : 0;
+
+        Long minPosition = cursor > 0 ? userChangeEventRepository.findMinPosition() : null;
+        if (minPosition != null && cursor < minPosition - 1) {
+            return CompletableFuture.completedFuture(new UserChangeFeedResponse(List.of(), minPosition - 1, true, true));
+        }
+
+        UserChangeFeedResponse response = read(cursor, limit);
+        if (!response.getEvents().isEmpty() || wait == 0 || waiterCount.get() >= maxWaiters) {
+            return CompletableFuture.completedFuture(response);
+        }
+        Waiter waiter = new Waiter(cursor, limit, Instant.now().plus(Duration.ofSeconds(wait)));
+        waiters.add(waiter);
+        waiterCount.incrementAndGet();
+        return waiter.future;
+    }
+
+    @Scheduled(fixedDelayString = "${ums.changes.poll-interval-ms:250}")
+    public void completeWaiters() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long maxPosition = userChangeEventRepository.findMaxPosition();
+        Instant now = Instant.now();
+        Iterator<Waiter> it = waiters.iterator();
+        while (it.hasNext()) {
+            Waiter waiter = it.next();
+            try {
+                if (waiter.after < maxPosition) {
+                    complete(it, waiter, read(waiter.after, waiter.limit));
+                } else if (!now.isBefore(waiter.deadline)) {
+                    complete(it, waiter, new UserChangeFeedResponse(List.of(), waiter.after, false, false));
+                }
+            } catch (RuntimeException ex) {
+                it.remove();
+                waiterCount.decrementAndGet();
+                waiter.future.completeExceptionally(ex);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${ums.changes.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpiredEvents() {
+        int purged = userChangeEventRepository.deleteOlderThan(Instant.now().minus(Duration.ofDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} user change events older than {} days", purged, retentionDays);
+        }
+    }
+
+    private UserChangeFeedResponse read(long after, int limit) {
+        // Fetch one extra row to know whether another page exists
+        List<UserChangeEvent> rows = userChangeEventRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(after, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        List<UserChangeEvent> page = hasMore ? rows.subList(0, limit) : rows;
+        long nextCursor = page.isEmpty() ? after : page.get(page.size() - 1).getFeedPosition();
+        return new UserChangeFeedResponse(
+                page.stream().map(UserChangeFeedService::toResponse).collect(Collectors.toList()),
+                nextCursor,
+                hasMore,
+                false
+        );
+    }
+
+    private void complete(Iterator<Waiter> it, Waiter waiter, UserChangeFeedResponse response) {
+        it.remove();
+        waiterCount.decrementAndGet();
+        waiter.future.complete(response);
+    }
+
+    private static UserChangeEventResponse toResponse(UserChangeEvent event) {
+        return new UserChangeEventResponse(event.getFeedPosition(), event.getUserId(), event.getTenantId(), event.getUsername(),
+                event.getChangeType(), event.getDetail(), event.getDetailValue(), event.getOccurredAt());
+    }
+
+    private static final class Waiter {
+        private final long after;
+        private final int limit;
+        private final Instant deadline;
+        private final CompletableFuture<UserChangeFeedResponse> future = new CompletableFuture<>();
+
+        private Waiter(long after, int limit, Instant deadline) {
+            this.after = after;
+            this.limit = limit;
+            this.deadline = deadline;
+        }
+    }
+}
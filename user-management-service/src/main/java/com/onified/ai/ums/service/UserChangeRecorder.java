@@ -0,0 +1,56 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.entity.UserChangeEvent;
+import com.onified.ai.ums.security.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends to the user change feed inside the caller's transaction.
+ * <p>
+ * Appends take no lock; events get their feed position from {@link UserChangeSequencer} once the transaction has
+ * committed. Events carry the tenant of the current request; every user they refer to was loaded or created within
+ * that tenant.
+ */
+@Component
+public class UserChangeRecorder {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO user_change_events (user_id, tenant_id, username, change_type, detail, detail_value, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserChangeRecorder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void record(UUID userId, String username, UserChangeEvent.ChangeType changeType) {
+        record(userId, username, changeType, null, null);
+    }
+
+    public void record(UUID userId, String username, UserChangeEvent.ChangeType changeType, String detail, String detailValue) {
+        jdbcTemplate.update(INSERT_EVENT_SQL, userId, TenantContext.getTenantId(), username, changeType.name(), detail, detailValue,
+                Timestamp.from(Instant.now()));
+    }
+
+    // Bulk variant for imports: one CREATED event per user, in list order
+    public void recordCreated(List<UUID> userIds, List<String> usernames) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        String tenantId = TenantContext.getTenantId();
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            rows.add(new Object[]{userIds.get(i), tenantId, usernames.get(i), UserChangeEvent.ChangeType.CREATED.name(), null, null, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, rows);
+    }
+}
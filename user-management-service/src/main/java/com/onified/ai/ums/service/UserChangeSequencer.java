@@ -0,0 +1,88 @@
+package com.onified.ai.ums.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Gives committed user change events their feed position, after the writing transaction has committed.
+ * <p>
+ * Writers append events with no shared lock, so appends do not serialize on each other; an event is invisible to
+ * feed readers until a sequencer pass has numbered it. Passes are serialized across instances by a
+ * transaction-scoped advisory lock (an instance that cannot take it skips the pass) and number the pending events
+ * after the highest position assigned so far. Positions therefore only grow in the order events become visible,
+ * and a reader of {@code position > cursor} never misses an event that commits later. The cost is feed latency of
+ * up to {@code ums.changes.sequence-interval-ms}.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class UserChangeSequencer {
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock ("ums_chg")
+    private static final long SEQUENCER_LOCK_KEY = 0x756d735f636867L;
+
+    // Numbers the oldest pending events, in id order, after the current highest position
+    private static final String SEQUENCE_SQL =
+            "UPDATE user_change_events e SET feed_position = p.base + p.rn " +
+            "FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn, " +
+            "(SELECT COALESCE(MAX(feed_position), 0) FROM user_change_events) AS base " +
+            "FROM user_change_events WHERE feed_position IS NULL ORDER BY id LIMIT ?) p " +
+            "WHERE e.id = p.id";
+
+    // Events appended before positions existed were ordered by id under a global lock; their id is their position,
+    // which keeps consumer cursors taken from ids valid. Only applies while no event has a position yet.
+    private static final String ADOPT_LEGACY_SQL =
+            "UPDATE user_change_events SET feed_position = id WHERE feed_position IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM user_change_events WHERE feed_position IS NOT NULL)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean legacyAdopted;
+
+    @Value("${ums.changes.sequence-batch-size:1000}")
+    private int batchSize;
+
+    public UserChangeSequencer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_user_change_events_pending " +
+                "ON user_change_events (id) WHERE feed_position IS NULL");
+    }
+
+    @Scheduled(fixedDelayString = "${ums.changes.sequence-interval-ms:100}")
+    public void sequence() {
+        Integer assigned = transactionTemplate.execute(status -> sequencePending());
+        if (assigned != null && assigned > 0) {
+            log.debug("Assigned feed positions to {} user change events", assigned);
+        }
+    }
+
+    private int sequencePending() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SEQUENCER_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0; // another instance is sequencing
+        }
+        int total = 0;
+        if (!legacyAdopted) {
+            total += jdbcTemplate.update(ADOPT_LEGACY_SQL);
+            legacyAdopted = true;
+        }
+        // Keep going while batches come back full; the lock is held until the whole pass commits
+        int assigned;
+        do {
+            assigned = jdbcTemplate.update(SEQUENCE_SQL, batchSize);
+            total += assigned;
+        } while (assigned == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,173 @@
+package com.onified.ai.ums.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.UserCreateRequest;
+import com.onified.ai.ums.entity.UserImportJob;
+import com.onified.ai.ums.exception.BadRequestException;
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads import records one at a time from a CSV or NDJSON stream, so the whole upload is never held in memory.
+ * <p>
+ * CSV input needs a header row; recognised columns are username, password, email, firstName, lastName and
+ * roles (multiple roles separated by ';'). NDJSON input has one {@link UserCreateRequest} object per line.
+ * Blank lines are ignored and do not count as records.
+ */
+class UserImportReader implements Closeable {
+
+    private static final String ROLE_SEPARATOR = ";";
+
+    private final BufferedReader reader;
+    private final UserImportJob.ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long recordNumber;
+
+    UserImportReader(InputStream in, UserImportJob.ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next record, or {@code null} at end of input. Unparseable records are returned with an error.
+     */
+    ImportRecord next() throws IOException {
+        if (format == UserImportJob.ImportFormat.CSV && csvColumns == null) {
+            readCsvHeader();
+        }
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        recordNumber++;
+        try {
+            UserCreateRequest request = format == UserImportJob.ImportFormat.CSV
+                    ? parseCsvRecord(line)
+                    : objectMapper.readValue(line, UserCreateRequest.class);
+            return new ImportRecord(recordNumber, request, null);
+        } catch (IOException | RuntimeException ex) {
+            return new ImportRecord(recordNumber, null, "unparseable record (" + ex.getMessage() + ")");
+        }
+    }
+
+    /**
+     * Discards the given number of records, used when resuming a partially completed import.
+     */
+    void skip(long records) throws IOException {
+        for (long i = 0; i < records; i++) {
+            if (next() == null) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            if (header == null) {
+                throw new BadRequestException(ErrorConstants.IMPORT_CSV_HEADER_MISSING);
+            }
+        } while (header.isBlank());
+
+        List<String> names = splitCsvLine(header);
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            csvColumns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!csvColumns.keySet().containsAll(List.of("username", "password", "email"))) {
+            throw new BadRequestException(ErrorConstants.IMPORT_CSV_HEADER_MISSING);
+        }
+    }
+
+    private UserCreateRequest parseCsvRecord(String line) {
+        List<String> values = splitCsvLine(line);
+        UserCreateRequest request = new UserCreateRequest();
+        request.setUsername(column(values, "username"));
+        request.setPassword(column(values, "password"));
+        request.setEmail(column(values, "email"));
+        request.setFirstName(column(values, "firstname"));
+        request.setLastName(column(values, "lastname"));
+        String roles = column(values, "roles");
+        if (roles != null) {
+            Set<String> roleSet = Arrays.stream(roles.split(ROLE_SEPARATOR))
+                    .map(String::trim)
+                    .filter(role -> !role.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            request.setRoles(roleSet);
+        }
+        return request;
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = csvColumns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Splits a single CSV line, honouring double-quoted fields and "" escapes. Multi-line fields are not supported.
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Value
+    static class ImportRecord {
+        long recordNumber;
+        UserCreateRequest request; // null when the record could not be parsed
+        String error;
+    }
+}
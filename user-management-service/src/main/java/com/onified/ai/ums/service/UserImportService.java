@@ -0,0 +1,321 @@
+package com.onified.ai.ums.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.UserCreateRequest;
+import com.onified.ai.ums.dto.UserImportJobResponse;
+import com.onified.ai.ums.entity.User;
+import com.onified.ai.ums.entity.UserImportJob;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.exception.UserNotFoundException;
+import com.onified.ai.ums.repository.UserImportJobRepository;
+import com.onified.ai.ums.repository.UserRepository;
+import com.onified.ai.ums.security.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user import. Records are streamed from the upload and processed in chunks:
+ * <ol>
+ *     <li>records are validated and de-duplicated within the chunk;</li>
+ *     <li>usernames and emails are checked against the database with one IN query each;</li>
+ *     <li>each distinct role is validated once per import;</li>
+ *     <li>passwords are hashed in parallel on the shared {@link PasswordHashingService} pool;</li>
+ *     <li>users and role mappings are written with JDBC batch inserts, in the same transaction that advances
+ *     the job's progress counter.</li>
+ * </ol>
+ * Invalid or duplicate records are counted and skipped; they do not abort the import.
+ */
+@Service
+public class UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, tenant_id, username, password_hash, email, first_name, last_name, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL =
+            "INSERT INTO user_roles (user_id, role_name, tenant_id) VALUES (?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final UserImportJobRepository userImportJobRepository;
+    private final RoleValidationService roleValidationService;
+    private final PasswordHashingService passwordHashingService;
+    private final RoleMembershipService roleMembershipService;
+    private final UserChangeRecorder userChangeRecorder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ums.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${ums.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public UserImportService(UserRepository userRepository,
+                             UserImportJobRepository userImportJobRepository,
+                             RoleValidationService roleValidationService,
+                             PasswordHashingService passwordHashingService,
+                             RoleMembershipService roleMembershipService,
+                             UserChangeRecorder userChangeRecorder,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.userImportJobRepository = userImportJobRepository;
+        this.roleValidationService = roleValidationService;
+        this.passwordHashingService = passwordHashingService;
+        this.roleMembershipService = roleMembershipService;
+        this.userChangeRecorder = userChangeRecorder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports users from the given stream. When {@code resumeJobId} is set, the records already committed by
+     * that job are skipped and its counters continue from where they stopped.
+     */
+    public UserImportJobResponse importUsers(InputStream in, UserImportJob.ImportFormat format, UUID resumeJobId) throws IOException {
+        UserImportJob job = resumeJobId != null ? loadResumableJob(resumeJobId, format) : startJob(format);
+        List<String> errors = new ArrayList<>();
+        Map<String, Boolean> knownRoles = new ConcurrentHashMap<>();
+
+        try (UserImportReader reader = new UserImportReader(in, format, objectMapper)) {
+            reader.skip(job.getRecordsProcessed());
+
+            List<UserImportReader.ImportRecord> chunk = new ArrayList<>(chunkSize);
+            UserImportReader.ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    job = processChunk(job, chunk, knownRoles, errors);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                job = processChunk(job, chunk, knownRoles, errors);
+            }
+            job.setStatus(UserImportJob.ImportStatus.COMPLETED);
+            job = userImportJobRepository.save(job);
+        } catch (BadRequestException ex) {
+            markFailed(job, ex.getMessage());
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            // Progress up to the last committed chunk is kept, the job can be resumed with the same input
+            job = markFailed(job, ex.getMessage());
+        }
+        return toResponse(job, errors);
+    }
+
+    public UserImportJobResponse getImportJob(UUID jobId) {
+        UserImportJob job = userImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.IMPORT_JOB_NOT_FOUND, jobId)));
+        return toResponse(job, List.of());
+    }
+
+    private UserImportJob startJob(UserImportJob.ImportFormat format) {
+        UserImportJob job = new UserImportJob();
+        job.setFormat(format);
+        job.setStatus(UserImportJob.ImportStatus.RUNNING);
+        return userImportJobRepository.save(job);
+    }
+
+    private UserImportJob loadResumableJob(UUID jobId, UserImportJob.ImportFormat format) {
+        UserImportJob job = userImportJobRepository.findById(jobId)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.IMPORT_JOB_NOT_FOUND, jobId)));
+        if (job.getFormat() != format) {
+            throw new BadRequestException(String.format(ErrorConstants.IMPORT_JOB_FORMAT_MISMATCH, jobId, job.getFormat(), format));
+        }
+        if (job.getStatus() == UserImportJob.ImportStatus.COMPLETED) {
+            throw new BadRequestException(String.format(ErrorConstants.IMPORT_JOB_ALREADY_COMPLETED, jobId));
+        }
+        job.setStatus(UserImportJob.ImportStatus.RUNNING);
+        job.setLastError(null);
+        return userImportJobRepository.save(job);
+    }
+
+    private UserImportJob markFailed(UserImportJob job, String message) {
+        job.setStatus(UserImportJob.ImportStatus.FAILED);
+        job.setLastError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+        return userImportJobRepository.save(job);
+    }
+
+    private UserImportJob processChunk(UserImportJob job, List<UserImportReader.ImportRecord> chunk,
+                                       Map<String, Boolean> knownRoles, List<String> errors) {
+        long failed = 0;
+        long skipped = 0;
+
+        // 1. Per-record validation and in-chunk de-duplication
+        List<UserImportReader.ImportRecord> candidates = new ArrayList<>(chunk.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportReader.ImportRecord record : chunk) {
+            String error = record.getError() != null ? record.getError() : validate(record.getRequest());
+            if (error != null) {
+                failed++;
+                reportError(errors, record.getRecordNumber(), error);
+            } else if (usernames.contains(record.getRequest().getUsername()) || emails.contains(record.getRequest().getEmail())) {
+                skipped++;
+            } else {
+                // Claimed only once accepted, so a skipped record does not shadow a later one
+                usernames.add(record.getRequest().getUsername());
+                emails.add(record.getRequest().getEmail());
+                candidates.add(record);
+            }
+        }
+
+        // 2. Set-based duplicate check against existing users
+        Set<String> existingUsernames = usernames.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> existingEmails = emails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+
+        // 3. Validate every role not seen before in this import, once
+        Set<String> unseenRoles = candidates.stream()
+                .filter(record -> record.getRequest().getRoles() != null)
+                .flatMap(record -> record.getRequest().getRoles().stream())
+                .filter(role -> !knownRoles.containsKey(role))
+                .collect(Collectors.toSet());
+        if (!unseenRoles.isEmpty()) {
+            Set<String> missing = roleValidationService.findMissingRoles(unseenRoles);
+            unseenRoles.forEach(role -> knownRoles.put(role, !missing.contains(role)));
+        }
+
+        List<UserCreateRequest> toInsert = new ArrayList<>(candidates.size());
+        for (UserImportReader.ImportRecord record : candidates) {
+            UserCreateRequest request = record.getRequest();
+            if (existingUsernames.contains(request.getUsername()) || existingEmails.contains(request.getEmail())) {
+                skipped++;
+                continue;
+            }
+            String unknownRole = request.getRoles() == null ? null : request.getRoles().stream()
+                    .filter(role -> !knownRoles.get(role))
+                    .findFirst()
+                    .orElse(null);
+            if (unknownRole != null) {
+                failed++;
+                reportError(errors, record.getRecordNumber(),
+                        String.format(ErrorConstants.ROLE_NOT_FOUND_FOR_USER, unknownRole, "N/A (during import)"));
+                continue;
+            }
+            toInsert.add(request);
+        }
+
+        // 4. Hash passwords in parallel on the shared hashing pool, outside the database transaction
+        List<String> hashes = passwordHashingService.encodeAll(
+                toInsert.stream().map(UserCreateRequest::getPassword).toList());
+
+        // 5. Batch insert and advance progress atomically
+        long created = toInsert.size();
+        long chunkFailed = failed;
+        long chunkSkipped = skipped;
+        return transactionTemplate.execute(status -> {
+            insertUsers(toInsert, hashes);
+            job.setRecordsProcessed(job.getRecordsProcessed() + chunk.size());
+            job.setCreatedCount(job.getCreatedCount() + created);
+            job.setFailedCount(job.getFailedCount() + chunkFailed);
+            job.setSkippedCount(job.getSkippedCount() + chunkSkipped);
+            return userImportJobRepository.save(job);
+        });
+    }
+
+    private void insertUsers(List<UserCreateRequest> requests, List<String> hashes) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> userRows = new ArrayList<>(requests.size());
+        List<Object[]> roleRows = new ArrayList<>();
+        List<String> grantedRoles = new ArrayList<>();
+        List<UUID> userIds = new ArrayList<>(requests.size());
+        List<String> usernames = new ArrayList<>(requests.size());
+        String tenantId = TenantContext.getTenantId();
+        for (int i = 0; i < requests.size(); i++) {
+            UserCreateRequest request = requests.get(i);
+            UUID id = UUID.randomUUID();
+            userIds.add(id);
+            usernames.add(request.getUsername());
+            userRows.add(new Object[]{
+                    id, tenantId, request.getUsername(), hashes.get(i), request.getEmail(),
+                    request.getFirstName(), request.getLastName(), User.UserStatus.ACTIVE.name(), now, now
+            });
+            if (request.getRoles() != null) {
+                request.getRoles().forEach(role -> roleRows.add(new Object[]{id, role, tenantId}));
+                grantedRoles.addAll(request.getRoles());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows);
+        userChangeRecorder.recordCreated(userIds, usernames);
+        if (!roleRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, roleRows);
+            roleMembershipService.granted(grantedRoles);
+        }
+    }
+
+    // Mirrors the constraints declared on UserCreateRequest
+    private static String validate(UserCreateRequest request) {
+        if (request.getUsername() == null || request.getUsername().isBlank()) {
+            return ErrorConstants.USERNAME_NOT_BLANK;
+        }
+        if (request.getUsername().length() < 3 || request.getUsername().length() > 50) {
+            return ErrorConstants.USERNAME_SIZE_CONSTRAINT;
+        }
+        if (request.getPassword() == null || request.getPassword().isBlank()) {
+            return ErrorConstants.PASSWORD_NOT_BLANK;
+        }
+        if (request.getPassword().length() < 8) {
+            return ErrorConstants.PASSWORD_MIN_SIZE;
+        }
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return ErrorConstants.EMAIL_NOT_BLANK;
+        }
+        if (!request.getEmail().contains("@")) {
+            return ErrorConstants.EMAIL_INVALID;
+        }
+        if (request.getFirstName() != null && request.getFirstName().length() > 100) {
+            return ErrorConstants.FIRST_NAME_SIZE_CONSTRAINT;
+        }
+        if (request.getLastName() != null && request.getLastName().length() > 100) {
+            return ErrorConstants.LAST_NAME_SIZE_CONSTRAINT;
+        }
+        if (request.getRoles() != null && request.getRoles().stream().anyMatch(role -> role == null || role.isBlank())) {
+            return ErrorConstants.ROLE_NAME_NOT_BLANK;
+        }
+        return null;
+    }
+
+    private void reportError(List<String> errors, long recordNumber, String message) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(String.format(ErrorConstants.IMPORT_RECORD_INVALID, recordNumber, message));
+        }
+    }
+
+    private static UserImportJobResponse toResponse(UserImportJob job, List<String> errors) {
+        return new UserImportJobResponse(
+                job.getId(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getRecordsProcessed(),
+                job.getCreatedCount(),
+                job.getSkippedCount(),
+                job.getFailedCount(),
+                job.getLastError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                errors
+        );
+    }
+}
@@ -0,0 +1,259 @@
+package com.onified.ai.ums.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.AttributeUpsertRequest;
+import com.onified.ai.ums.dto.AttributeUpsertResponse;
+import com.onified.ai.ums.dto.UserResponse;
+import com.onified.ai.ums.entity.UserChangeEvent;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.exception.DuplicateUsernameException;
+import com.onified.ai.ums.exception.UserNotFoundException;
+import com.onified.ai.ums.mapper.UserMapper;
+import com.onified.ai.ums.repository.UserPatchRepository;
+import com.onified.ai.ums.repository.UserRepository;
+import com.onified.ai.ums.security.TenantContext;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Partial user updates with JSON Merge Patch (RFC 7396) semantics, and batch attribute upserts.
+ * <p>
+ * Unlike {@link UserService#updateUser}, nothing is loaded into the persistence context: a patch becomes one UPDATE
+ * of the columns it names plus, for the {@code attributes} member, one upsert and one delete statement. A patch
+ * member set to null removes the value; username, email and password cannot be removed.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserPatchService {
+
+    static final int MAX_UPSERT_ENTRIES = 5000;
+
+    private static final String ATTRIBUTES_MEMBER = "attributes";
+
+    // Patchable members and their users columns
+    private static final Map<String, String> COLUMNS = Map.of(
+            "username", "username",
+            "email", "email",
+            "password", "password_hash",
+            "firstName", "first_name",
+            "lastName", "last_name"
+    );
+    private static final Set<String> REQUIRED = Set.of("username", "email", "password");
+
+    private final UserRepository userRepository;
+    private final UserPatchRepository userPatchRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UserAuthDetailsCache userAuthDetailsCache;
+    private final UserChangeRecorder userChangeRecorder;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Applies a merge patch and returns the user's scalar fields; roles and attributes are left unset.
+     * <p>
+     * A new password is hashed before the transaction begins, so no connection is held while hashing.
+     */
+    public UserResponse patchUser(UUID userId, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException(String.format(ErrorConstants.PATCH_BODY_INVALID, patch == null ? "empty body" : patch.getNodeType()));
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        JsonNode attributes = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            if (ATTRIBUTES_MEMBER.equals(name)) {
+                attributes = value;
+                continue;
+            }
+            String column = COLUMNS.get(name);
+            if (column == null) {
+                throw new BadRequestException(String.format(ErrorConstants.PATCH_FIELD_NOT_SUPPORTED, name));
+            }
+            if (value.isNull()) {
+                if (REQUIRED.contains(name)) {
+                    throw new BadRequestException(String.format(ErrorConstants.PATCH_FIELD_NOT_REMOVABLE, name));
+                }
+                columns.put(column, null);
+            } else {
+                columns.put(column, validate(name, value.asText()));
+            }
+        }
+        if (columns.containsKey("password_hash")) {
+            columns.put("password_hash", passwordHashingService.encode((String) columns.get("password_hash")));
+        }
+
+        JsonNode attributesPatch = attributes;
+        return transactionTemplate.execute(status -> applyPatch(userId, columns, attributesPatch));
+    }
+
+    private UserResponse applyPatch(UUID userId, Map<String, Object> columns, JsonNode attributes) {
+        checkUnique(userId, columns);
+        String tenantId = TenantContext.getTenantId();
+        // Always issued: checks existence and locks the row so concurrent patches of one user serialize
+        String[] usernames = userPatchRepository.updateColumns(tenantId, userId, columns)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
+        if (!columns.isEmpty()) {
+            userChangeRecorder.record(userId, usernames[1], UserChangeEvent.ChangeType.UPDATED);
+            userAuthDetailsCache.invalidate(usernames[0]);
+            userAuthDetailsCache.invalidate(usernames[1]);
+        }
+        if (attributes != null) {
+            applyAttributes(tenantId, userId, attributes);
+        }
+
+        return userRepository.findProjectedByTenantIdAndIdIn(tenantId, List.of(userId)).stream()
+                .findFirst()
+                .map(UserMapper::toUserSummaryResponse)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
+    }
+
+    /**
+     * Inserts or overwrites many attributes across many users in one statement.
+     */
+    @Transactional
+    public AttributeUpsertResponse upsertAttributes(AttributeUpsertRequest request) {
+        List<AttributeUpsertRequest.AttributeEntry> entries = request.getAttributes();
+        if (entries == null || entries.isEmpty()) {
+            throw new BadRequestException(ErrorConstants.ATTRIBUTES_NOT_EMPTY);
+        }
+        if (entries.size() > MAX_UPSERT_ENTRIES) {
+            throw new BadRequestException(String.format(ErrorConstants.ATTRIBUTE_UPSERT_TOO_MANY, MAX_UPSERT_ENTRIES));
+        }
+
+        // ON CONFLICT cannot touch one row twice in a statement, so collapse duplicates; the last entry wins
+        Map<UserAttributeKey, String> latest = new LinkedHashMap<>();
+        for (AttributeUpsertRequest.AttributeEntry entry : entries) {
+            if (entry.getUserId() == null) {
+                throw new BadRequestException(ErrorConstants.USER_ID_NOT_NULL);
+            }
+            latest.put(new UserAttributeKey(entry.getUserId(), requireName(entry.getAttributeName())),
+                    requireValue(entry.getAttributeValue()));
+        }
+
+        List<UUID> userIds = new ArrayList<>(latest.size());
+        List<String> names = new ArrayList<>(latest.size());
+        List<String> values = new ArrayList<>(latest.size());
+        latest.forEach((key, value) -> {
+            userIds.add(key.userId());
+            names.add(key.attributeName());
+            values.add(value);
+        });
+
+        int changed = userPatchRepository.upsertAttributes(TenantContext.getTenantId(), userIds, names, values);
+        return new AttributeUpsertResponse(latest.size(), changed);
+    }
+
+    // "attributes": null removes all attributes; inside the object, null removes one attribute
+    private void applyAttributes(String tenantId, UUID userId, JsonNode attributes) {
+        if (attributes.isNull()) {
+            userPatchRepository.deleteAttributes(tenantId, userId, null);
+            return;
+        }
+        if (!attributes.isObject()) {
+            throw new BadRequestException(ErrorConstants.PATCH_ATTRIBUTES_INVALID);
+        }
+        List<String> removed = new ArrayList<>();
+        List<UUID> userIds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = attributes.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = requireName(field.getKey());
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                removed.add(name);
+            } else if (value.isValueNode()) {
+                userIds.add(userId);
+                names.add(name);
+                values.add(requireValue(value.asText()));
+            } else {
+                throw new BadRequestException(ErrorConstants.PATCH_ATTRIBUTES_INVALID);
+            }
+        }
+        userPatchRepository.deleteAttributes(tenantId, userId, removed);
+        userPatchRepository.upsertAttributes(tenantId, userIds, names, values);
+    }
+
+    // Mirrors the constraints declared on UserUpdateRequest
+    private static String validate(String field, String value) {
+        switch (field) {
+            case "username" -> {
+                if (value.isBlank()) {
+                    throw new BadRequestException(ErrorConstants.USERNAME_NOT_BLANK);
+                }
+                if (value.length() < 3 || value.length() > 50) {
+                    throw new BadRequestException(ErrorConstants.USERNAME_SIZE_CONSTRAINT);
+                }
+            }
+            case "email" -> {
+                if (value.isBlank()) {
+                    throw new BadRequestException(ErrorConstants.EMAIL_NOT_BLANK);
+                }
+                if (!value.contains("@")) {
+                    throw new BadRequestException(ErrorConstants.EMAIL_INVALID);
+                }
+            }
+            case "password" -> {
+                if (value.length() < 8) {
+                    throw new BadRequestException(ErrorConstants.PASSWORD_MIN_SIZE);
+                }
+            }
+            case "firstName" -> {
+                if (value.length() > 100) {
+                    throw new BadRequestException(ErrorConstants.FIRST_NAME_SIZE_CONSTRAINT);
+                }
+            }
+            case "lastName" -> {
+                if (value.length() > 100) {
+                    throw new BadRequestException(ErrorConstants.LAST_NAME_SIZE_CONSTRAINT);
+                }
+            }
+            default -> {
+            }
+        }
+        return value;
+    }
+
+    private void checkUnique(UUID userId, Map<String, Object> columns) {
+        String username = (String) columns.get("username");
+        if (username != null && userRepository.existsByUsernameAndIdNot(username, userId)) {
+            throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_USERNAME, username));
+        }
+        String email = (String) columns.get("email");
+        if (email != null && userRepository.existsByEmailAndIdNot(email, userId)) {
+            throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_EMAIL, email));
+        }
+    }
+
+    private static String requireName(String name) {
+        if (name == null || name.isBlank()) {
+            throw new BadRequestException(ErrorConstants.ATTRIBUTE_NAME_NOT_BLANK);
+        }
+        return name;
+    }
+
+    private static String requireValue(String value) {
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException(ErrorConstants.ATTRIBUTE_VALUE_NOT_BLANK);
+        }
+        return value;
+    }
+
+    private record UserAttributeKey(UUID userId, String attributeName) {
+    }
+}
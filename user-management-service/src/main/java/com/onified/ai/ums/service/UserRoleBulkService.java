@@ -0,0 +1,93 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.BulkRoleOperationRequest;
+import com.onified.ai.ums.dto.BulkRoleOperationResponse;
+import com.onified.ai.ums.dto.UserSearchCriteria;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.exception.UserNotFoundException;
+import com.onified.ai.ums.repository.UserRoleBulkRepository;
+import com.onified.ai.ums.security.TenantContext;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Grants, revokes and replaces a role for many users at once. The role is validated once per request and each
+ * operation runs as set-based statements in a single transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserRoleBulkService {
+
+    private static final int MAX_USER_IDS = 10_000;
+
+    private final UserRoleBulkRepository userRoleBulkRepository;
+    private final RoleValidationService roleValidationService;
+    private final UserAuthDetailsCache userAuthDetailsCache;
+    private final RoleMembershipService roleMembershipService;
+
+    @Transactional
+    public BulkRoleOperationResponse grant(BulkRoleOperationRequest request) {
+        validateTarget(request);
+        requireRole(request.getRoleId());
+        String tenantId = TenantContext.getTenantId();
+        int granted = userRoleBulkRepository.grant(tenantId, request.getRoleId(), request.getUserIds(), request.getFilter());
+        roleMembershipService.adjust(request.getRoleId(), granted);
+        userAuthDetailsCache.invalidateAll();
+        return new BulkRoleOperationResponse(request.getRoleId(), granted, 0);
+    }
+
+    @Transactional
+    public BulkRoleOperationResponse revoke(BulkRoleOperationRequest request) {
+        validateTarget(request);
+        // No existence check: revoking a role that was deleted in the Permission Registry is a valid cleanup
+        String tenantId = TenantContext.getTenantId();
+        int revoked = userRoleBulkRepository.revoke(tenantId, request.getRoleId(), request.getUserIds(), request.getFilter());
+        roleMembershipService.adjust(request.getRoleId(), -revoked);
+        userAuthDetailsCache.invalidateAll();
+        return new BulkRoleOperationResponse(request.getRoleId(), 0, revoked);
+    }
+
+    @Transactional
+    public BulkRoleOperationResponse replace(BulkRoleOperationRequest request) {
+        validateTarget(request);
+        String replacement = request.getReplacementRoleId();
+        if (replacement == null || replacement.isBlank() || replacement.equals(request.getRoleId())) {
+            throw new BadRequestException(ErrorConstants.BULK_ROLE_REPLACEMENT_REQUIRED);
+        }
+        requireRole(replacement);
+        String tenantId = TenantContext.getTenantId();
+        int granted = userRoleBulkRepository.grantToHolders(tenantId, request.getRoleId(), replacement, request.getUserIds(), request.getFilter());
+        int revoked = userRoleBulkRepository.revoke(tenantId, request.getRoleId(), request.getUserIds(), request.getFilter());
+        roleMembershipService.adjust(Map.of(replacement, (long) granted, request.getRoleId(), (long) -revoked));
+        userAuthDetailsCache.invalidateAll();
+        return new BulkRoleOperationResponse(replacement, granted, revoked);
+    }
+
+    private void requireRole(String roleId) {
+        if (!roleValidationService.doesRoleExist(roleId)) {
+            throw new UserNotFoundException(String.format(ErrorConstants.ROLE_NOT_FOUND_FOR_USER, roleId, "N/A (bulk operation)"));
+        }
+    }
+
+    private static void validateTarget(BulkRoleOperationRequest request) {
+        boolean hasUserIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (!hasUserIds && !hasFilter(request.getFilter())) {
+            throw new BadRequestException(ErrorConstants.BULK_ROLE_TARGET_REQUIRED);
+        }
+        if (hasUserIds && request.getUserIds().size() > MAX_USER_IDS) {
+            throw new BadRequestException(String.format(ErrorConstants.BULK_ROLE_TOO_MANY_USERS, MAX_USER_IDS));
+        }
+    }
+
+    private static boolean hasFilter(UserSearchCriteria filter) {
+        return filter != null && (filter.getStatus() != null
+                || (filter.getRole() != null && !filter.getRole().isBlank())
+                || (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank())
+                || filter.getCreatedFrom() != null
+                || filter.getCreatedTo() != null);
+    }
+}
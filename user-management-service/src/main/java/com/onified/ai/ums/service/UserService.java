@@ -1,29 +1,36 @@
 package com.onified.ai.ums.service;
 
 import com.onified.ai.ums.constants.ErrorConstants;
-import com.onified.ai.ums.client.PermissionRegistryFeignClient;
-import com.onified.ai.ums.client.AuthenticationFeignClient;
 import com.onified.ai.ums.dto.*;
+import com.onified.ai.ums.entity.OutboxEvent;
 import com.onified.ai.ums.entity.User;
+import com.onified.ai.ums.entity.UserChangeEvent;
 import com.onified.ai.ums.entity.UserAttribute;
 import com.onified.ai.ums.entity.UserAttributeId;
+import com.onified.ai.ums.exception.BadRequestException;
 import com.onified.ai.ums.exception.DuplicateUsernameException;
 import com.onified.ai.ums.exception.UserNotFoundException;
 import com.onified.ai.ums.mapper.UserMapper;
-import com.onified.ai.ums.model.ApiResponse;
+import com.onified.ai.ums.repository.OutboxEventRepository;
 import com.onified.ai.ums.repository.UserAttributeRepository;
 import com.onified.ai.ums.repository.UserRepository;
-import feign.FeignException;
+import com.onified.ai.ums.repository.projection.UserAuthView;
+import com.onified.ai.ums.repository.projection.UserCursor;
+import com.onified.ai.ums.repository.projection.UserSummaryView;
+import com.onified.ai.ums.security.TenantContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,24 +38,19 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserAttributeRepository userAttributeRepository;
-    private final PermissionRegistryFeignClient permissionRegistryFeignClient;
-    private final AuthenticationFeignClient authenticationFeignClient;
-    private final PasswordEncoder passwordEncoder; // Inject PasswordEncoder
-
-
-    private boolean doesRoleExist(String roleName) {
-        try {
-            ApiResponse<Object> response = permissionRegistryFeignClient.getRoleById(roleName);
-            return response != null && response.getStatusCode() == HttpStatus.OK.value();
-        } catch (FeignException.NotFound ex) {
-            return false;
-        } catch (FeignException ex) {
-            System.err.println("Error communicating with Permission Registry Service: " + ex.getMessage());
-            throw new RuntimeException("Failed to validate role with Permission Registry Service: " + ex.getMessage(), ex);
-        }
-    }
-
-    @Transactional
+    private final RoleValidationService roleValidationService;
+    private final OutboxEventRepository outboxEventRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UserAuthDetailsCache userAuthDetailsCache;
+    private final RoleMembershipService roleMembershipService;
+    private final UserChangeRecorder userChangeRecorder;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 500;
+
+    // Not transactional: the request is validated and the password hashed before a connection is taken, so a slow
+    // hash does not hold one; only the write runs in a transaction
     public UserResponse createUser(UserCreateRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_USERNAME, request.getUsername()));
@@ -56,104 +58,132 @@ public class UserService {
         if (request.getEmail() != null && userRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_EMAIL, request.getEmail()));
         }
-
-        User user = UserMapper.toUserEntity(request);
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword())); // IMPORTANT: HASH PASSWORD HERE
-
-        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
-            for (String roleName : request.getRoles()) {
-                if (!doesRoleExist(roleName)) {
-                    throw new UserNotFoundException(String.format(ErrorConstants.ROLE_NOT_FOUND_FOR_USER, roleName, "N/A (during creation)"));
-                }
+        boolean hasRoles = request.getRoles() != null && !request.getRoles().isEmpty();
+        if (hasRoles) {
+            Set<String> missingRoles = roleValidationService.findMissingRoles(request.getRoles());
+            if (!missingRoles.isEmpty()) {
+                throw new UserNotFoundException(String.format(ErrorConstants.ROLE_NOT_FOUND_FOR_USER, missingRoles.iterator().next(), "N/A (during creation)"));
             }
-            user.setRoles(request.getRoles());
         }
+        String passwordHash = passwordHashingService.encode(request.getPassword()); // IMPORTANT: HASH PASSWORD HERE
+
+        return transactionTemplate.execute(status -> {
+            User user = UserMapper.toUserEntity(request);
+            user.setTenantId(TenantContext.getTenantId());
+            user.setPasswordHash(passwordHash);
+            if (hasRoles) {
+                user.setRoles(request.getRoles());
+            }
 
-        User savedUser = userRepository.save(user);
-        return UserMapper.toUserResponse(savedUser);
+            User savedUser = userRepository.save(user);
+            roleMembershipService.granted(savedUser.getRoles());
+            userChangeRecorder.record(savedUser.getId(), savedUser.getUsername(), UserChangeEvent.ChangeType.CREATED);
+            return UserMapper.toUserResponse(savedUser);
+        });
     }
 
+    @Transactional
     public UserResponse getUserById(UUID id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithRolesByTenantIdAndId(TenantContext.getTenantId(), id)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, id)));
         return UserMapper.toUserResponse(user);
     }
 
+    @Transactional
     public UserResponse getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findWithRolesByTenantIdAndUsername(TenantContext.getTenantId(), username)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND_USERNAME, username)));
         return UserMapper.toUserResponse(user);
     }
 
-    @Transactional
+    // Not transactional, like createUser: a new password is hashed before the transaction opens
     public UserResponse updateUser(UUID id, UserUpdateRequest request) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, id)));
+        String passwordHash = request.getPassword() != null && !request.getPassword().isEmpty()
+                ? passwordHashingService.encode(request.getPassword()) // IMPORTANT: HASH PASSWORD HERE
+                : null;
 
-        UserMapper.updateUserEntityFromDto(request, user);
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findByTenantIdAndId(TenantContext.getTenantId(), id)
+                    .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, id)));
 
-        if (request.getUsername() != null && !request.getUsername().isEmpty()) {
-            if (!request.getUsername().equals(user.getUsername()) && userRepository.existsByUsername(request.getUsername())) {
-                throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_USERNAME, request.getUsername()));
+            userAuthDetailsCache.invalidate(user.getUsername());
+            UserMapper.updateUserEntityFromDto(request, user);
+
+            if (request.getUsername() != null && !request.getUsername().isEmpty()) {
+                if (!request.getUsername().equals(user.getUsername()) && userRepository.existsByUsername(request.getUsername())) {
+                    throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_USERNAME, request.getUsername()));
+                }
+                user.setUsername(request.getUsername());
             }
-            user.setUsername(request.getUsername());
-        }
-        if (request.getEmail() != null && !request.getEmail().isEmpty()) {
-            if (!request.getEmail().equals(user.getEmail()) && userRepository.existsByEmail(request.getEmail())) {
-                throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_EMAIL, request.getEmail()));
+            if (request.getEmail() != null && !request.getEmail().isEmpty()) {
+                if (!request.getEmail().equals(user.getEmail()) && userRepository.existsByEmail(request.getEmail())) {
+                    throw new DuplicateUsernameException(String.format(ErrorConstants.DUPLICATE_EMAIL, request.getEmail()));
+                }
+                user.setEmail(request.getEmail());
+            }
+            if (passwordHash != null) {
+                user.setPasswordHash(passwordHash);
             }
-            user.setEmail(request.getEmail());
-        }
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword())); // IMPORTANT: HASH PASSWORD HERE
-        }
 
-        User updatedUser = userRepository.save(user);
-        return UserMapper.toUserResponse(updatedUser);
+            User updatedUser = userRepository.save(user);
+            userAuthDetailsCache.invalidate(updatedUser.getUsername()); // the username may have changed
+            userChangeRecorder.record(updatedUser.getId(), updatedUser.getUsername(), UserChangeEvent.ChangeType.UPDATED);
+            return UserMapper.toUserResponse(updatedUser);
+        });
     }
 
     @Transactional
-    public void deleteUser(UUID id) {
-        User user = userRepository.findById(id)
+    public void deleteUser(UUID id, boolean deleteKeycloakAccount) {
+        User user = userRepository.findByTenantIdAndId(TenantContext.getTenantId(), id)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, id)));
         
         String username = user.getUsername();
         
-        // Delete from database first
-        userRepository.deleteById(id);
-        
-        // Delete from Keycloak (non-blocking)
-        try {
-            ApiResponse<String> response = authenticationFeignClient.deleteUserFromKeycloak(username);
-            if (response != null && response.getStatusCode() == HttpStatus.OK.value()) {
-                System.out.println("Successfully deleted user '" + username + "' from Keycloak");
-            } else {
-                System.err.println("Failed to delete user '" + username + "' from Keycloak. Response: " + response);
-            }
-        } catch (Exception e) {
-            System.err.println("Warning: Failed to delete user '" + username + "' from Keycloak: " + e.getMessage());
-            // Don't throw exception here - user is already deleted from database
-            // This ensures database consistency even if Keycloak deletion fails
+        // Delete from database; the Keycloak account is removed asynchronously by KeycloakDeletionDispatcher,
+        // which picks up this outbox row only if the deletion commits. It is deleted by id when the account was
+        // linked, so a later account with the same username is never hit.
+        List<String> roles = userRepository.findRoleNamesByTenantIdAndUserId(user.getTenantId(), id);
+        userRepository.delete(user);
+        roleMembershipService.revoked(roles);
+        userChangeRecorder.record(id, username, UserChangeEvent.ChangeType.DELETED);
+        userAuthDetailsCache.invalidate(username);
+        if (deleteKeycloakAccount) {
+            outboxEventRepository.save(new OutboxEvent(OutboxEvent.EventType.KEYCLOAK_USER_DELETE, username,
+                    user.getKeycloakUserId()));
         }
     }
 
+    // Records the Keycloak account created for the user, which its deletion then targets
+    @Transactional
+    public void linkKeycloakAccount(UUID id, String keycloakUserId) {
+        User user = userRepository.findByTenantIdAndId(TenantContext.getTenantId(), id)
+                .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, id)));
+        user.setKeycloakUserId(keycloakUserId);
+    }
+
     @Transactional
     public UserResponse assignRoleToUser(UUID userId, RoleAssignmentRequest request) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesByTenantIdAndId(TenantContext.getTenantId(), userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
 
-        if (!doesRoleExist(request.getRoleId())) {
+        if (!roleValidationService.doesRoleExist(request.getRoleId())) {
             throw new UserNotFoundException(String.format(ErrorConstants.ROLE_NOT_FOUND_FOR_USER, request.getRoleId(), userId));
         }
 
+        boolean newlyGranted = !user.getRoles().contains(request.getRoleId());
         user.addRole(request.getRoleId());
+        userAuthDetailsCache.invalidate(user.getUsername());
         User updatedUser = userRepository.save(user);
+        if (newlyGranted) {
+            roleMembershipService.adjust(request.getRoleId(), 1);
+            userChangeRecorder.record(userId, updatedUser.getUsername(), UserChangeEvent.ChangeType.ROLE_GRANTED, request.getRoleId(), null);
+        }
         return UserMapper.toUserResponse(updatedUser);
     }
 
     @Transactional
     public UserResponse removeRoleFromUser(UUID userId, String roleName) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesByTenantIdAndId(TenantContext.getTenantId(), userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
 
         if (!user.getRoles().contains(roleName)) {
@@ -161,17 +191,20 @@ public class UserService {
         }
 
         user.removeRole(roleName);
+        userAuthDetailsCache.invalidate(user.getUsername());
         User updatedUser = userRepository.save(user);
+        roleMembershipService.adjust(roleName, -1);
+        userChangeRecorder.record(userId, updatedUser.getUsername(), UserChangeEvent.ChangeType.ROLE_REVOKED, roleName, null);
         return UserMapper.toUserResponse(updatedUser);
     }
 
     @Transactional
     public UserResponse addOrUpdateUserAttribute(UUID userId, UserAttributeRequest request) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findByTenantIdAndId(TenantContext.getTenantId(), userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
 
         UserAttributeId attributeId = new UserAttributeId(userId, request.getAttributeName());
-        Optional<UserAttribute> existingAttribute = userAttributeRepository.findById(attributeId);
+        Optional<UserAttribute> existingAttribute = userAttributeRepository.findByTenantIdAndId(user.getTenantId(), attributeId);
 
         UserAttribute attribute;
         if (existingAttribute.isPresent()) {
@@ -183,16 +216,18 @@ public class UserService {
         }
         user.addAttribute(attribute);
         User updatedUser = userRepository.save(user);
+        userChangeRecorder.record(userId, updatedUser.getUsername(), UserChangeEvent.ChangeType.ATTRIBUTE_SET,
+                request.getAttributeName(), request.getAttributeValue());
         return UserMapper.toUserResponse(updatedUser);
     }
 
     @Transactional
     public UserResponse removeUserAttribute(UUID userId, String attributeName) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findByTenantIdAndId(TenantContext.getTenantId(), userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND, userId)));
 
         UserAttributeId attributeId = new UserAttributeId(userId, attributeName);
-        Optional<UserAttribute> attributeToRemoveOpt = userAttributeRepository.findById(attributeId);
+        Optional<UserAttribute> attributeToRemoveOpt = userAttributeRepository.findByTenantIdAndId(user.getTenantId(), attributeId);
 
         if (attributeToRemoveOpt.isEmpty()) {
             throw new UserNotFoundException(String.format(ErrorConstants.ATTRIBUTE_NOT_FOUND_FOR_USER, attributeName, userId));
@@ -201,26 +236,96 @@ public class UserService {
         UserAttribute attributeToRemove = attributeToRemoveOpt.get();
         user.getAttributes().remove(attributeToRemove);
         User updatedUser = userRepository.save(user);
+        userChangeRecorder.record(userId, updatedUser.getUsername(), UserChangeEvent.ChangeType.ATTRIBUTE_REMOVED, attributeName, null);
         return UserMapper.toUserResponse(updatedUser);
     }
 
-    // New method for Authentication Service to retrieve user details including password hash
+    // New method for Authentication Service to retrieve user details including password hash.
+    // Served from a short-TTL cache; every write that changes these fields invalidates it.
     public UserAuthDetailsResponse getUserAuthDetailsByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        return userAuthDetailsCache.get(username, this::loadUserAuthDetails);
+    }
+
+    private UserAuthDetailsResponse loadUserAuthDetails(String username) {
+        UserAuthView user = userRepository.findAuthViewByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException(String.format(ErrorConstants.USER_NOT_FOUND_USERNAME, username)));
 
         return new UserAuthDetailsResponse(
                 user.getId(),
+                user.getTenantId(),
                 user.getUsername(),
                 user.getPasswordHash(), // This will now return the HASHED password
-                user.getRoles().stream().toList()
+                userRepository.findRoleNamesByTenantIdAndUserId(user.getTenantId(), user.getId())
         );
     }
 
-    // List all users
+    /**
+     * Verifies a password against the stored hash on the hashing pool. On success, a hash produced with an
+     * outdated algorithm or cost is transparently replaced with one using the current settings.
+     * <p>
+     * Not transactional: hashing holds no connection, and only the replacement of the hash is a (single-statement)
+     * write, applied only if the hash was not changed in the meantime.
+     */
+    public boolean verifyPassword(String username, String rawPassword) {
+        UserAuthDetailsResponse user = getUserAuthDetailsByUsername(username);
+
+        if (!passwordHashingService.matches(rawPassword, user.getPasswordHash())) {
+            return false;
+        }
+        if (passwordHashingService.needsUpgrade(user.getPasswordHash())) {
+            String upgradedHash = passwordHashingService.encode(rawPassword);
+            userRepository.replacePasswordHash(user.getTenantId(), user.getId(), user.getPasswordHash(), upgradedHash);
+            userAuthDetailsCache.invalidate(username);
+        }
+        return true;
+    }
+
+    // List all users (scalar columns only, roles and attributes are not loaded)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-            .map(UserMapper::toUserResponse)
+        return userRepository.findAllProjectedByTenantId(TenantContext.getTenantId()).stream()
+            .map(UserMapper::toUserSummaryResponse)
             .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Keyset-paginated, filtered listing
+    public UserPageResponse searchUsers(UserSearchCriteria criteria) {
+        int limit = criteria.getLimit() != null ? criteria.getLimit() : DEFAULT_PAGE_LIMIT;
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_PAGE_LIMIT, MAX_PAGE_LIMIT));
+        }
+
+        // A missing direction sorts ascending, as in the query
+        Sort.Direction direction = criteria.getDirection() == Sort.Direction.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
+        UserCursor after = null;
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            try {
+                after = UserCursor.decode(criteria.getCursor());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException(String.format(ErrorConstants.INVALID_CURSOR, criteria.getCursor()));
+            }
+            if (after.getSortBy() != criteria.getSortBy() || after.getDirection() != direction) {
+                throw new BadRequestException(String.format(ErrorConstants.INVALID_CURSOR, criteria.getCursor()));
+            }
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<UserSummaryView> rows = userRepository.findPage(TenantContext.getTenantId(), criteria, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<UserSummaryView> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? UserCursor.of(criteria.getSortBy(), direction, page.get(page.size() - 1)).encode() : null;
+
+        return new UserPageResponse(
+                page.stream().map(UserMapper::toUserSummaryResponse).collect(Collectors.toList()),
+                nextCursor,
+                hasMore
+        );
+    }
+
+    // Streams every matching user to the sink over a server-side cursor; memory use does not grow with the result size
+    @Transactional
+    public void exportUsers(UserSearchCriteria criteria, Consumer<UserResponse> sink) {
+        try (Stream<UserSummaryView> users = userRepository.streamAll(TenantContext.getTenantId(), criteria)) {
+            users.map(UserMapper::toUserSummaryResponse).forEach(sink);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.onified.ai.ums.service;
+
+import com.onified.ai.ums.constants.ErrorConstants;
+import com.onified.ai.ums.dto.UserResponse;
+import com.onified.ai.ums.exception.BadRequestException;
+import com.onified.ai.ums.mapper.UserMapper;
+import com.onified.ai.ums.repository.UserTypeaheadRepository;
+import com.onified.ai.ums.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked typeahead search for user pickers.
+ * <p>
+ * Queries shorter than {@link #MIN_FUZZY_LENGTH} characters are matched by prefix only; trigram similarity is
+ * meaningless on so little text. Fuzzy matching is switched off automatically if pg_trgm is unavailable.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserTypeaheadService {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final UserTypeaheadRepository userTypeaheadRepository;
+
+    @Value("${ums.typeahead.fuzzy-enabled:true}")
+    private boolean fuzzyConfigured;
+
+    private volatile boolean fuzzyAvailable;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareIndexes() {
+        try {
+            userTypeaheadRepository.createPrefixIndexes();
+        } catch (Exception ex) {
+            System.err.println("Warning: could not create typeahead prefix indexes: " + ex.getMessage());
+        }
+        if (!fuzzyConfigured) {
+            return;
+        }
+        try {
+            userTypeaheadRepository.createTrigramIndexes();
+            fuzzyAvailable = true;
+        } catch (Exception ex) {
+            System.err.println("Warning: pg_trgm unavailable, typeahead falls back to prefix matching: " + ex.getMessage());
+        }
+    }
+
+    public List<UserResponse> search(String query, Integer requestedLimit) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.isEmpty() || q.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_TYPEAHEAD_QUERY, MAX_QUERY_LENGTH));
+        }
+        int limit = requestedLimit != null ? requestedLimit : DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException(String.format(ErrorConstants.INVALID_PAGE_LIMIT, MAX_LIMIT));
+        }
+
+        boolean fuzzy = fuzzyAvailable && q.length() >= MIN_FUZZY_LENGTH;
+        return userTypeaheadRepository.search(TenantContext.getTenantId(), q, limit, fuzzy).stream()
+                .map(UserMapper::toUserSummaryResponse)
+                .collect(Collectors.toList());
+    }
+}
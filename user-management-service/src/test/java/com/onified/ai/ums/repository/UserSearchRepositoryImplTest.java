@@ -0,0 +1,20 @@
+package com.onified.ai.ums.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserSearchRepositoryImplTest {
+
+    @Test
+    void emailDomainPatternMatchesTheDomainSuffix() {
+        assertEquals("%@onified.ai", UserSearchRepositoryImpl.emailDomainPattern("Onified.AI"));
+    }
+
+    @Test
+    void emailDomainPatternEscapesLikeWildcards() {
+        assertEquals("%@a\\_b.com", UserSearchRepositoryImpl.emailDomainPattern("a_b.com"));
+        assertEquals("%@100\\%.com", UserSearchRepositoryImpl.emailDomainPattern("100%.com"));
+        assertEquals("%@a\\\\b.com", UserSearchRepositoryImpl.emailDomainPattern("a\\b.com"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.onified.ai.ums.repository.projection;
+
+import com.onified.ai.ums.dto.UserSearchCriteria.SortField;
+import com.onified.ai.ums.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserCursorTest {
+
+    private static final UUID ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T10:15:30.123456Z");
+    private static final UserSummaryView LAST = new UserSummaryRow(ID, "jane.doe", "jane@onified.ai", "Jane", "Doe",
+            User.UserStatus.ACTIVE, CREATED_AT, CREATED_AT);
+
+    @Test
+    void roundTripsEverySortFieldAndDirection() {
+        for (SortField sortBy : SortField.values()) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                UserCursor cursor = UserCursor.of(sortBy, direction, LAST);
+
+                assertEquals(cursor, UserCursor.decode(cursor.encode()));
+            }
+        }
+    }
+
+    @Test
+    void takesTheSortValueOfTheSortColumn() {
+        assertEquals(CREATED_AT.toString(), UserCursor.of(SortField.CREATED_AT, Sort.Direction.ASC, LAST).getSortValue());
+        assertEquals("jane.doe", UserCursor.of(SortField.USERNAME, Sort.Direction.ASC, LAST).getSortValue());
+        assertEquals("jane@onified.ai", UserCursor.of(SortField.EMAIL, Sort.Direction.DESC, LAST).getSortValue());
+    }
+
+    @Test
+    void keepsTheDirection() {
+        UserCursor cursor = UserCursor.decode(UserCursor.of(SortField.USERNAME, Sort.Direction.DESC, LAST).encode());
+
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+        assertEquals(SortField.USERNAME, cursor.getSortBy());
+        assertEquals(ID, cursor.getId());
+    }
+
+    @Test
+    void sortValueMayContainTheSeparator() {
+        UserCursor cursor = new UserCursor(SortField.USERNAME, Sort.Direction.ASC, "line\nbreak", ID);
+
+        assertEquals(cursor, UserCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodingIsUrlSafe() {
+        String encoded = UserCursor.of(SortField.EMAIL, Sort.Direction.ASC, LAST).encode();
+
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(raw("USERNAME\n" + ID + "\njane.doe")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(raw("NAME\nASC\n" + ID + "\njane.doe")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(raw("USERNAME\nUP\n" + ID + "\njane.doe")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(raw("USERNAME\nASC\nnot-a-uuid\njane.doe")));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(raw("CREATED_AT\nASC\n" + ID + "\nyesterday")));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package com.onified.ai.ums.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserAttributeSearchServiceTest {
+
+    private static final UUID A = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID B = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID C = UUID.fromString("7fffffff-ffff-ffff-0000-000000000000");
+    // Negative as signed longs; PostgreSQL sorts these after C
+    private static final UUID D = UUID.fromString("80000000-0000-0000-0000-000000000000");
+    private static final UUID E = UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff");
+
+    @Test
+    void intersectKeepsCommonIdsInOrder() {
+        assertEquals(List.of(B, D), UserAttributeSearchService.intersect(List.of(A, B, C, D), List.of(B, D, E)));
+    }
+
+    @Test
+    void intersectWithEmptyOrDisjointListsIsEmpty() {
+        assertTrue(UserAttributeSearchService.intersect(List.of(), List.of(A, B)).isEmpty());
+        assertTrue(UserAttributeSearchService.intersect(List.of(A, B), List.of()).isEmpty());
+        assertTrue(UserAttributeSearchService.intersect(List.of(A, C), List.of(B, D, E)).isEmpty());
+    }
+
+    @Test
+    void intersectOfIdenticalListsIsTheList() {
+        List<UUID> ids = List.of(A, B, C, D, E);
+
+        assertEquals(ids, UserAttributeSearchService.intersect(ids, ids));
+    }
+
+    @Test
+    void uuidOrderIsUnsignedLikePostgres() {
+        List<UUID> ids = new ArrayList<>(List.of(E, D, C, B, A));
+        ids.sort(UserAttributeSearchService.UUID_ORDER);
+
+        assertEquals(List.of(A, B, C, D, E), ids);
+        // UUID.compareTo is signed and would put D and E first, breaking the merge against ORDER BY user_id
+        assertTrue(D.compareTo(C) < 0);
+    }
+
+    @Test
+    void intersectReliesOnUnsignedOrder() {
+        assertEquals(List.of(C, D, E), UserAttributeSearchService.intersect(List.of(A, C, D, E), List.of(C, D, E)));
+    }
+}